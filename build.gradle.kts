@@ -1,5 +1,6 @@
 plugins {
     java
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.stellinova"
@@ -16,6 +17,21 @@ dependencies {
     compileOnly("org.spigotmc:spigot-api:1.21.8-R0.1-SNAPSHOT")
     compileOnly("me.clip:placeholderapi:2.11.6")
     compileOnly(files("libs/EvoCore.jar"))
+
+    // Tests run plugin code against proxy stubs of the API, so the API itself is on the classpath
+    testImplementation("org.spigotmc:spigot-api:1.21.8-R0.1-SNAPSHOT")
+    testImplementation("me.clip:placeholderapi:2.11.6")
+    testImplementation("org.junit.jupiter:junit-jupiter:5.10.2")
+    // Registry entries of abstract API types (PotionEffectType) for the stub server
+    testImplementation("org.mockito:mockito-core:5.11.0")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher:1.10.2")
+
+    // Benchmarks run on the stub server from the test sources
+    jmhImplementation(sourceSets.test.get().output)
+}
+
+configurations.jmhImplementation {
+    extendsFrom(configurations.testImplementation.get())
 }
 
 java {
@@ -27,6 +43,28 @@ tasks.withType<JavaCompile> {
     options.release.set(17)
 }
 
+tasks.test {
+    useJUnitPlatform()
+}
+
+// Headless load run at 50/200/500 players: ./gradlew simulate [--args="200 --seconds 60"]
+tasks.register<JavaExec>("simulate") {
+    group = "verification"
+    description = "Runs TideLoadSimulator against the stub server."
+    classpath = sourceSets.test.get().runtimeClasspath
+    mainClass.set("com.stellinova.tidewielder.TideLoadSimulator")
+    javaLauncher.set(javaToolchains.launcherFor(java.toolchain))
+}
+
+// ./gradlew jmh; results in build/results/jmh
+jmh {
+    jmhVersion.set("1.37")
+    includeTests.set(true)
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
+
 tasks.register<Jar>("shade") {
     from(sourceSets.main.get().output)
     archiveClassifier.set("")
@@ -0,0 +1,15 @@
+package com.example.evo;
+
+import org.bukkit.entity.Player;
+
+/**
+ * The EvoCore service shape TideEvoBridge probes first: a Player-keyed level and a per-key
+ * scalar. The api.IEvoService the plugin compiles against has no getScalar, so only this one
+ * gets the bridge into its bound-handle path.
+ */
+public interface IEvoService {
+
+    int getEvo(Player player);
+
+    double getScalar(Player player, String key);
+}
@@ -0,0 +1,46 @@
+package com.stellinova.tidewielder;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared setup for the benchmarks: the enabled plugin on a {@link TideStubServer}, with call
+ * counting off so the stubs cost as little as they can. Everything runs on the benchmark
+ * thread, which is the stub server's main thread.
+ */
+public abstract class TideBench {
+
+    TideStubServer server;
+    TideWielderPlugin plugin;
+    TideManager manager;
+    final List<TideStubEntity> players = new ArrayList<>();
+
+    /** Starts the stub server unless a subclass already did (to provide services first). */
+    void enable() {
+        if (server == null) server = TideStubServer.start();
+        TideStubs.counting(false);
+        plugin = server.enable();
+        manager = plugin.getManager();
+    }
+
+    /** Joins {@code n} players on a 3-block grid around the origin, all within full FX distance. */
+    void join(int n, boolean attuned) {
+        for (int i = 0; i < n; i++) {
+            int k = players.size();
+            players.add(server.join("bench" + k, (k % 4) * 3.0, 64, (k / 4) * 3.0, attuned));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (plugin != null) server.disable(plugin);
+        if (!server.failures().isEmpty()) {
+            IllegalStateException e = new IllegalStateException(server.failures().size() + " listener/task failures");
+            for (Throwable t : server.failures()) e.addSuppressed(t);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.stellinova.tidewielder;
+
+import com.example.evo.api.IEvoService;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Evo multipliers as a cast reads them while the bridge has no service to hook, where m()
+ * falls back to its built-in table. The hooked path is in {@link TideEvoDispatchBench}.
+ */
+@State(Scope.Thread)
+public class TideEvoBridgeBench extends TideBench {
+
+    /**
+     * absent: no EvoCore service; levelOnly: the api.IEvoService answering level 3 for everyone,
+     * which has no getScalar to bind, so only the profile's level comes from it.
+     */
+    @Param({"absent", "levelOnly"})
+    public String evoCore;
+
+    private Player p;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = TideStubServer.start();
+        if (evoCore.equals("levelOnly")) {
+            server.provide(IEvoService.class, TideStubs.stub(IEvoService.class, (self, name, a) -> switch (name) {
+                case "getEvoLevel" -> 3;
+                case "multiplier" -> 1.5;
+                default -> TideStubs.DEFAULT;
+            }));
+        }
+        enable();
+        join(1, true);
+        p = players.get(0).player();
+    }
+
+    /** One multiplier lookup, uncached: the fallback table behind the cached probe result. */
+    @Benchmark
+    public double m() {
+        return TideEvoBridge.m(p, "maelstrom");
+    }
+
+    /** Level plus all five multipliers from the per-player profile cache. */
+    @Benchmark
+    public void profile(Blackhole bh) {
+        TideEvoProfile prof = TideEvoBridge.profile(p);
+        bh.consume(prof.level());
+        bh.consume(prof.maelstrom());
+    }
+}
@@ -0,0 +1,80 @@
+package com.stellinova.tidewielder;
+
+import com.example.evo.IEvoService;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+/**
+ * Evo service dispatch, old against new: the Method.invoke calls TideEvoBridge made before it
+ * bound handles, next to the bridge itself hooked to the same service.
+ */
+@State(Scope.Thread)
+public class TideEvoDispatchBench extends TideBench {
+
+    // Only the service answers this; the bridge's own fallback for Evo 3 is 1.75
+    private static final double SERVICE_SCALAR = 2.5;
+
+    private final IEvoService service = new IEvoService() {
+        @Override
+        public int getEvo(Player player) {
+            return 3;
+        }
+
+        @Override
+        public double getScalar(Player player, String key) {
+            return SERVICE_SCALAR;
+        }
+    };
+
+    private Method mGetEvo;
+    private Method mGetScalar;
+    private Player p;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        server = TideStubServer.start();
+        server.provide(IEvoService.class, service);
+        enable();
+        join(1, true);
+        p = players.get(0).player();
+
+        mGetEvo = IEvoService.class.getMethod("getEvo", Player.class);
+        mGetScalar = IEvoService.class.getMethod("getScalar", Player.class, String.class);
+        if (TideEvoBridge.m(p, "maelstrom") != SERVICE_SCALAR) {
+            throw new IllegalStateException("TideEvoBridge did not hook the stub service");
+        }
+    }
+
+    /** The old evo(): Method.invoke, then an instanceof on the boxed result. */
+    @Benchmark
+    public int reflectiveEvo() throws ReflectiveOperationException {
+        Object res = mGetEvo.invoke(service, p);
+        if (res instanceof Number n) return Math.max(0, Math.min(3, n.intValue()));
+        return 0;
+    }
+
+    @Benchmark
+    public int handleEvo() {
+        return TideEvoBridge.evo(p);
+    }
+
+    /** The old m(): Method.invoke with the lower-cased key, then an instanceof on the boxed result. */
+    @Benchmark
+    public double reflectiveScalar() throws ReflectiveOperationException {
+        Object res = mGetScalar.invoke(service, p, "maelstrom".toLowerCase(Locale.ROOT));
+        if (res instanceof Number n) return n.doubleValue();
+        return 1.0;
+    }
+
+    @Benchmark
+    public double handleScalar() {
+        return TideEvoBridge.m(p, "maelstrom");
+    }
+}
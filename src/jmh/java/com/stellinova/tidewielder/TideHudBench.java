@@ -0,0 +1,47 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** One player's sidebar: the steady refresh the HUD loop runs, and a full rebuild. */
+@State(Scope.Thread)
+public class TideHudBench extends TideBench {
+
+    /** idle: every ability ready; cooling: every line shows a running cooldown. */
+    @Param({"idle", "cooling"})
+    public String cooldowns;
+
+    private TideScoreboardHud hud;
+    private Player p;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        enable();
+        join(1, true);
+        hud = plugin.getHud();
+        p = players.get(0).player();
+        if (cooldowns.equals("cooling")) {
+            TidePlayerData d = manager.data(p);
+            long until = System.currentTimeMillis() + 3_600_000L;
+            for (TideAbility a : TideAbility.VALUES) d.setReadyAt(a, until);
+        }
+        hud.refresh(p);
+    }
+
+    /** Renders every line; only prefixes that changed are pushed. */
+    @Benchmark
+    public void refresh() {
+        hud.refresh(p);
+    }
+
+    /** First refresh after join or /tide reload: a new scoreboard with every line sent. */
+    @Benchmark
+    public void rebuild() {
+        hud.rebuild(p);
+    }
+}
@@ -0,0 +1,62 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Every %tide_...% placeholder for one player with all cooldowns running, as a scoreboard or
+ * tab plugin would poll them: again within the same tick (memo hits) and once per new tick.
+ */
+@State(Scope.Thread)
+public class TidePlaceholderBench extends TideBench {
+
+    private TideExpansion expansion;
+    private Player p;
+    private String[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        enable();
+        join(1, true);
+        p = players.get(0).player();
+        expansion = new TideExpansion(plugin, manager, null);
+
+        List<String> k = new ArrayList<>();
+        k.add("evo");
+        TidePlayerData d = manager.data(p);
+        for (TideAbility a : TideAbility.VALUES) {
+            String name = a.name().toLowerCase(Locale.ROOT);
+            k.add(name + "_cd");
+            k.add(name + "_mult");
+            d.setReadyAt(a, System.currentTimeMillis() + 3_600_000L);
+        }
+        keys = k.toArray(new String[0]);
+        server.tick();
+    }
+
+    @Benchmark
+    public void sameTick(Blackhole bh) {
+        for (String key : keys) bh.consume(expansion.onPlaceholderRequest(p, key));
+    }
+
+    /** One server tick, then every placeholder; compare with {@link #tickOnly()}. */
+    @Benchmark
+    public void newTick(Blackhole bh) {
+        server.tick();
+        for (String key : keys) bh.consume(expansion.onPlaceholderRequest(p, key));
+    }
+
+    @Benchmark
+    public void tickOnly() {
+        server.tick();
+    }
+}
@@ -0,0 +1,73 @@
+package com.stellinova.tidewielder;
+
+import com.stellinova.tidewielder.TideFx.Priority;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Precomputed ability geometry sent through {@link TideFx} to {@code viewers} players in full
+ * detail, as the trigger methods emit it. Each emit is followed by one server tick so the FX
+ * budget resets as it would in game; {@link #tickOnly()} is that tick on its own.
+ */
+@State(Scope.Thread)
+public class TideShapesBench extends TideBench {
+
+    @Param({"0", "1", "8"})
+    public int viewers;
+
+    private TideFx fx;
+    private World w;
+    private double phase;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        enable();
+        // Bystanders, so the HUD loop and TickTask stay out of the numbers
+        join(viewers, false);
+        fx = manager.fx();
+        w = server.world().world();
+    }
+
+    @Benchmark
+    public void maelstromRings() {
+        TideShapes.MAELSTROM_RINGS.emit(fx, w, Priority.NORMAL, Particle.SPLASH, 0, 64, 0, 3.0, 1, 0.02, 0.02, 0.02, 0.0);
+        TideShapes.MAELSTROM_RINGS.emitAccent(fx, w, Priority.NORMAL, Particle.CLOUD, 0, 64, 0, 3.0, 1, 0.01, 0.01, 0.01, 0.0);
+        server.tick();
+    }
+
+    @Benchmark
+    public void bubbleCage() {
+        TideShapes.BUBBLE_SPIRAL[3].emit(fx, w, Priority.NORMAL, Particle.BUBBLE_COLUMN_UP, 0, 64, 0, 1.0, 1, 0.04, 0.04, 0.04, 0.0);
+        TideShapes.BUBBLE_SPIRAL[3].emitAccent(fx, w, Priority.NORMAL, Particle.SPLASH, 0, 64, 0, 1.0, 1, 0.03, 0.03, 0.03, 0.0);
+        TideShapes.BUBBLE_CAGE.emit(fx, w, Priority.NORMAL, Particle.DRIPPING_WATER, 0, 64, 0, 4.0, 1, 0.02, 0.02, 0.02, 0.01);
+        server.tick();
+    }
+
+    @Benchmark
+    public void surgeWave() {
+        TideShapes.SURGE_WAVE[3].emitFramed(fx, w, Priority.NORMAL, Particle.SPLASH, 0, 64, 0,
+                1, 0, 0, 0, 1, false, 1, 0.04, 0.06, 0.04, 0.0);
+        TideShapes.SURGE_WAVE[3].emitFramed(fx, w, Priority.NORMAL, Particle.DRIPPING_WATER, 0, 64.15, 0,
+                1, 0, 0, 0, 1, true, 1, 0.01, 0.03, 0.01, 0.0);
+        server.tick();
+    }
+
+    @Benchmark
+    public void typhoonSpiral() {
+        phase += 0.25;
+        TideShapes.TYPHOON_SPIRAL.emitRotated(fx, w, Priority.NORMAL, Particle.SPLASH, 0, 68, 0, 2.2,
+                Math.cos(phase), Math.sin(phase), 1, 0.05, 0.05, 0.05, 0.02);
+        server.tick();
+    }
+
+    @Benchmark
+    public void tickOnly() {
+        server.tick();
+    }
+}
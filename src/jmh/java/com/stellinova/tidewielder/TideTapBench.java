@@ -0,0 +1,70 @@
+package com.stellinova.tidewielder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * F and sneak taps through the registered listeners, resolved by the tick the way a player's
+ * input is. Cooldowns are cleared first so every tap ends in a cast; {@link #tickOnly()} is the
+ * cost of one tick with nothing to resolve.
+ */
+@State(Scope.Thread)
+public class TideTapBench extends TideBench {
+
+    // TideManager's tap windows, in ticks
+    private static final int TAP_WINDOW_TICKS = 6;
+
+    private TideStubEntity e;
+    private TidePlayerData d;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        enable();
+        join(1, true);
+        e = players.get(0);
+        d = manager.data(e.player());
+    }
+
+    /** Double tap: resolved in onSwap itself, then one tick applies and flushes it. */
+    @Benchmark
+    public void doubleTapCast() {
+        d.setMaelstromReadyAt(0L);
+        server.swap(e);
+        server.swap(e);
+        server.tick();
+    }
+
+    /** Double tap while Maelstrom is cooling down: the reject path and its action bar. */
+    @Benchmark
+    public void doubleTapOnCooldown() {
+        d.setMaelstromReadyAt(Long.MAX_VALUE);
+        server.swap(e);
+        server.swap(e);
+        server.tick();
+    }
+
+    /** Single tap: recorded in onSwap, cast as Surge by the tick that passes its deadline. */
+    @Benchmark
+    public void singleTapResolved() {
+        d.setSurgeReadyAt(0L);
+        server.swap(e);
+        for (int i = 0; i < TAP_WINDOW_TICKS; i++) server.tick();
+    }
+
+    /** Quick sneak press and release, cast as Tidepool at its deadline. */
+    @Benchmark
+    public void sneakTapResolved() {
+        d.setTidepoolReadyAt(0L);
+        server.sneak(e, true);
+        server.sneak(e, false);
+        for (int i = 0; i < TAP_WINDOW_TICKS; i++) server.tick();
+    }
+
+    @Benchmark
+    public void tickOnly() {
+        server.tick();
+    }
+}
@@ -0,0 +1,26 @@
+package com.stellinova.tidewielder;
+
+/**
+ * The five TideWielder actives. The ordinal is the column used by slot-indexed state
+ * ({@link TideStateStore#readyAt}), so the order must stay stable.
+ */
+public enum TideAbility {
+    MAELSTROM("Maelstrom"),
+    BUBBLE("Bubble"),
+    TIDEPOOL("Tidepool"),
+    SURGE("Surge"),
+    TYPHOON("Typhoon");
+
+    public static final TideAbility[] VALUES = values();
+    public static final int COUNT = VALUES.length;
+
+    private final String label;
+
+    TideAbility(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+}
@@ -0,0 +1,17 @@
+package com.stellinova.tidewielder;
+
+/** One ability at one Evo level, compiled by {@link TideSpecs}; fields an ability does not use are 0. */
+record TideAbilitySpec(
+        long cooldownMs,     // after cooldown reduction
+        int hunger,          // food points per cast
+        double radius,       // before the Evo scalar
+        double force,        // before the Evo scalar
+        int durationTicks,
+        int amplifier,
+        int echoTicks,       // extra effect while Tide Echo is up
+        long intervalMs,     // Typhoon pulses
+        double damage,       // per Typhoon pulse
+        boolean enhanced,
+        boolean unlocked,
+        String bonusText     // HUD, e.g. "+35%"
+) {}
@@ -1,37 +1,51 @@
 package com.stellinova.tidewielder;
 
+import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.util.Set;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 public final class TideAccessBridge {
 
+    /** Cached verdict for a player; UNKNOWN means the PDC has not been read yet. */
+    public enum Access { ENABLED, DISABLED, UNKNOWN }
+
     private static JavaPlugin plugin;
     private static NamespacedKey keyEnabled;
 
-    private static final Set<UUID> ENABLED = ConcurrentHashMap.newKeySet();
+    // Filled on join (warm), updated by grant/revoke, cleared on quit (forget)
+    private static final Map<UUID, Access> VERDICTS = new ConcurrentHashMap<>();
 
     private TideAccessBridge() {}
 
     public static void init(JavaPlugin pl) {
         plugin = pl;
         keyEnabled = new NamespacedKey(plugin, "tidewielder_enabled");
+        VERDICTS.clear();
     }
 
+    /**
+     * Cached check; only a player with no verdict yet costs a PDC read. Off the main thread an
+     * unknown player, or one who is no longer online, reads as disabled rather than touching the PDC.
+     */
     public static boolean canUseTide(Player p) {
-        if (ENABLED.contains(p.getUniqueId())) return true;
+        Access a = VERDICTS.get(p.getUniqueId());
+        if (a != null) return a == Access.ENABLED;
+        // Warming a player who already left would re-create the entry onQuit dropped
+        if (!p.isOnline() || !Bukkit.isPrimaryThread()) return false;
+        return warm(p) == Access.ENABLED;
+    }
 
-        PersistentDataContainer pdc = p.getPersistentDataContainer();
-        Integer val = pdc.get(keyEnabled, PersistentDataType.INTEGER);
-        boolean enabled = (val != null && val == 1);
-        if (enabled) ENABLED.add(p.getUniqueId());
-        return enabled;
+    /** Cached verdict without any PDC access; safe from any thread. */
+    public static Access access(UUID id) {
+        Access a = VERDICTS.get(id);
+        return a == null ? Access.UNKNOWN : a;
     }
 
     public static boolean isTide(Player p) {
@@ -52,17 +66,26 @@ public final class TideAccessBridge {
         }
 
         PersistentDataContainer pdc = p.getPersistentDataContainer();
-        if (enabled) {
-            pdc.set(keyEnabled, PersistentDataType.INTEGER, 1);
-            ENABLED.add(p.getUniqueId());
-        } else {
-            pdc.set(keyEnabled, PersistentDataType.INTEGER, 0);
-            ENABLED.remove(p.getUniqueId());
-        }
+        pdc.set(keyEnabled, PersistentDataType.INTEGER, enabled ? 1 : 0);
+        VERDICTS.put(p.getUniqueId(), enabled ? Access.ENABLED : Access.DISABLED);
+    }
+
+    /** Drops the cached verdict for a player who left; the PDC stays the source of truth. */
+    public static void forget(UUID id) {
+        VERDICTS.remove(id);
+    }
+
+    static int cachedCount() {
+        return VERDICTS.size();
     }
 
-    public static void warm(Player p) {
-        if (canUseTide(p)) ENABLED.add(p.getUniqueId());
-        else ENABLED.remove(p.getUniqueId());
+    /** Reads the PDC once and caches the verdict (main thread). */
+    public static Access warm(Player p) {
+        long t0 = TidePerf.start();
+        Integer val = p.getPersistentDataContainer().get(keyEnabled, PersistentDataType.INTEGER);
+        Access a = (val != null && val == 1) ? Access.ENABLED : Access.DISABLED;
+        VERDICTS.put(p.getUniqueId(), a);
+        TidePerf.stop(TidePerf.Phase.ACCESS_LOAD, t0);
+        return a;
     }
 }
@@ -0,0 +1,103 @@
+package com.stellinova.tidewielder;
+
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+
+/**
+ * Action bar channel: posts are collected per player and {@link #flush} sends at most one
+ * packet per player per tick.
+ *
+ *  - Within a tick the latest post wins, unless an earlier one has a higher level.
+ *  - INFO and ALERT messages hold the bar for {@link #HOLD_TICKS}; a lower-level post (the
+ *    Typhoon countdown) stays queued, replaced by newer ones, and is sent once the hold expires.
+ *  - A message identical to what the client already shows is not re-sent, unless it is old
+ *    enough that the client has faded it out.
+ */
+final class TideActionBar {
+
+    enum Level { STATUS, INFO, ALERT }
+
+    private static final long HOLD_TICKS = 20L;
+    // Vanilla clients fade the action bar after ~3 s; identical text is re-sent after this
+    private static final long CLIENT_FADE_TICKS = 50L;
+
+    private final TideStateStore store;
+    private long sent;
+    private long suppressed;
+
+    TideActionBar(TideStateStore store) {
+        this.store = store;
+    }
+
+    void post(int slot, Level level, String msg) {
+        TideStateStore st = store;
+        int lvl = level.ordinal();
+        if (st.abPending[slot] != null && st.abPendingLevel[slot] > lvl) return;
+        st.abPending[slot] = msg;
+        st.abPendingLevel[slot] = lvl;
+        if (st.abQueued[slot]) return;
+        st.abQueued[slot] = true;
+        if (st.abCount == st.abSlots.length) st.abSlots = Arrays.copyOf(st.abSlots, st.abSlots.length * 2);
+        st.abSlots[st.abCount++] = slot;
+    }
+
+    /** Forgets what was shown and anything pending (quit); nothing is sent. */
+    void drop(int slot) {
+        store.abPending[slot] = null;
+        store.abShown[slot] = null;
+        store.abHoldUntil[slot] = 0L;
+    }
+
+    void flush(long tick) {
+        TideStateStore st = store;
+        int kept = 0;
+        for (int i = 0; i < st.abCount; i++) {
+            int s = st.abSlots[i];
+            st.abQueued[s] = false;
+            String msg = st.abPending[s];
+            st.abPending[s] = null;
+            Player p = st.players[s];
+            if (msg == null || p == null) continue;
+
+            int lvl = st.abPendingLevel[s];
+            if (lvl < st.abShownLevel[s] && tick < st.abHoldUntil[s]) {
+                // Held back, not lost: retry on the next flush
+                st.abPending[s] = msg;
+                st.abQueued[s] = true;
+                st.abSlots[kept++] = s;
+                continue;
+            }
+            if (msg.equals(st.abShown[s]) && tick - st.abSentTick[s] < CLIENT_FADE_TICKS) {
+                suppressed++;
+                continue;
+            }
+
+            st.abShown[s] = msg;
+            st.abShownLevel[s] = lvl;
+            st.abSentTick[s] = tick;
+            st.abHoldUntil[s] = lvl > Level.STATUS.ordinal() ? tick + HOLD_TICKS : 0L;
+            send(p, msg);
+            sent++;
+        }
+        st.abCount = kept;
+    }
+
+    long sent() {
+        return sent;
+    }
+
+    long suppressed() {
+        return suppressed;
+    }
+
+    private static void send(Player p, String msg) {
+        try {
+            p.spigot().sendMessage(ChatMessageType.ACTION_BAR, new TextComponent(msg));
+        } catch (Throwable ignored) {
+            if (!msg.isEmpty()) p.sendMessage(msg);
+        }
+    }
+}
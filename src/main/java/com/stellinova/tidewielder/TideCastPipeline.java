@@ -0,0 +1,301 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.util.Vector;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Three-stage pipeline for the per-target half of a cast.
+ *
+ * The main thread captures a {@link Job}: cast origin, heading and every target's entity and
+ * feet position. A single worker thread turns those positions into velocity deltas, and the
+ * finished job is applied on the main thread at the start of the next tick (velocity, potion
+ * effects, damage). Jobs touch no Bukkit state between capture and apply, so the worker only
+ * ever sees plain doubles.
+ *
+ * Sounds, particles and the caster's own buffs stay on the cast tick; only the work that grows
+ * with the number of targets moves. Effect-only jobs and jobs with fewer than
+ * {@link #INLINE_TARGETS} targets are not worth the hand-off and run inline, as does
+ * everything with {@code casts.offload: false} (the old behaviour).
+ */
+final class TideCastPipeline {
+
+    /** How a job turns target positions into velocity deltas. */
+    enum Kernel {
+        /** Effects only. */
+        NONE,
+        /** Maelstrom: sideways swirl with a slight pull toward the origin. */
+        SWIRL,
+        /** Surge: along the heading for targets in front, against it for the rest. */
+        PUSH,
+        /** Typhoon pulse: flat outward shove with a fixed lift. */
+        PULSE
+    }
+
+    private static final double SWIRL_TANGENT = 0.4;
+    private static final double SWIRL_PULL    = 0.15;
+    private static final double PUSH_FRONT_DOT = 0.25;
+    private static final double PUSH_MIN_Y    = -0.2;
+    private static final double PUSH_MAX_Y    = 0.6;
+    private static final double PULSE_LIFT    = 0.2;
+
+    static final int INLINE_TARGETS = 8;
+    private static final long SHUTDOWN_WAIT_MS = 2000L;
+
+    private final TideScheduler scheduler;
+    private final Logger logger;
+    private final ExecutorService worker;
+    private final ConcurrentLinkedQueue<Job> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Location scratch = new Location(null, 0, 0, 0);
+    private volatile boolean failed;
+
+    TideCastPipeline(TideScheduler scheduler, Logger logger, boolean offload) {
+        this.scheduler = scheduler;
+        this.logger = logger;
+        this.worker = offload ? Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "TideWielder-cast");
+            t.setDaemon(true);
+            return t;
+        }) : null;
+    }
+
+    /** Starts a job at {@code origin}; heading (hx, hy, hz) is only read by {@link Kernel#PUSH}. */
+    Job job(TideAbility ability, Kernel kernel, Player caster, Location origin,
+            double hx, double hy, double hz, double force, double damage, PotionEffect... effects) {
+        return new Job(ability, kernel, caster, origin, hx, hy, hz, force, damage, effects);
+    }
+
+    /** Hands a captured job to the worker; it is applied by the next {@link #applyReady()}. */
+    void submit(Job job) {
+        if (job.count == 0) return;
+        if (worker != null && job.kernel != Kernel.NONE && job.count >= INLINE_TARGETS) {
+            inFlight.incrementAndGet();
+            try {
+                worker.execute(() -> {
+                    try {
+                        compute(job);
+                    } catch (Throwable t) {
+                        fail("compute", t);
+                    }
+                    ready.add(job);
+                });
+                return;
+            } catch (RejectedExecutionException ignored) {
+                inFlight.decrementAndGet();
+            }
+        }
+        compute(job);
+        apply(job);
+    }
+
+    /** Applies every job the worker has finished; targets owned by another thread are handed to it. */
+    void applyReady() {
+        Job job;
+        while ((job = ready.poll()) != null) {
+            inFlight.decrementAndGet();
+            try {
+                apply(job);
+            } catch (Throwable t) {
+                fail("apply", t);
+            }
+        }
+    }
+
+    /** Jobs submitted but not applied yet. */
+    int pending() {
+        return inFlight.get();
+    }
+
+    /** Lets the worker finish what it has, then applies it, so no cast is lost on disable. */
+    void shutdown() {
+        if (worker != null) {
+            worker.shutdown();
+            try {
+                if (!worker.awaitTermination(SHUTDOWN_WAIT_MS, TimeUnit.MILLISECONDS)) worker.shutdownNow();
+            } catch (InterruptedException e) {
+                worker.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        applyReady();
+        inFlight.set(0);
+    }
+
+    /** Logs the first failure only; a broken job should not flood the console every tick. */
+    private void fail(String stage, Throwable t) {
+        if (failed) return;
+        failed = true;
+        logger.log(Level.WARNING, "Cast " + stage + " failed; further failures are not logged.", t);
+    }
+
+    // ------------------------------------------------------------
+    // Compute (worker)
+    // ------------------------------------------------------------
+
+    private static void compute(Job j) {
+        int n = j.count;
+        double[] vx = new double[n], vy = new double[n], vz = new double[n];
+        j.vx = vx;
+        j.vy = vy;
+        j.vz = vz;
+        // Swirl works from the target back toward the origin; the rest push outward
+        double sign = j.kernel == Kernel.SWIRL ? -1.0 : 1.0;
+        for (int i = 0; i < n; i++) {
+            double dx = sign * (j.tx[i] - j.cx), dy = sign * (j.ty[i] - j.cy), dz = sign * (j.tz[i] - j.cz);
+            double len = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            // Degenerate offsets point straight up, like safeUnit
+            if (!Double.isFinite(len) || len < 1.0e-6) {
+                dx = 0.0; dy = 1.0; dz = 0.0;
+            } else {
+                dx /= len; dy /= len; dz /= len;
+            }
+
+            switch (j.kernel) {
+                case SWIRL -> {
+                    vx[i] = -dz * SWIRL_TANGENT + dx * SWIRL_PULL;
+                    vy[i] = dy * SWIRL_PULL;
+                    vz[i] = dx * SWIRL_TANGENT + dz * SWIRL_PULL;
+                }
+                case PUSH -> {
+                    double dot = dx * j.hx + dy * j.hy + dz * j.hz;
+                    double f = dot > PUSH_FRONT_DOT ? j.force : -j.force;
+                    vx[i] = j.hx * f;
+                    vy[i] = Math.max(PUSH_MIN_Y, Math.min(PUSH_MAX_Y, j.hy * f));
+                    vz[i] = j.hz * f;
+                }
+                case PULSE -> {
+                    vx[i] = dx * j.force;
+                    vy[i] = PULSE_LIFT * j.force;
+                    vz[i] = dz * j.force;
+                }
+                case NONE -> { }
+            }
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Apply (main thread)
+    // ------------------------------------------------------------
+
+    /**
+     * Applies one job as a single batch. Its damage is dealt inside a {@link TideDamage} batch,
+     * so TideManager.onHit skips it instead of treating every pulse tick as a melee hit.
+     */
+    private void apply(Job j) {
+        TideDamage.enter();
+        try {
+            for (int i = 0; i < j.count; i++) {
+                LivingEntity le = j.targets[i];
+                if (scheduler.owns(le)) {
+                    applyTo(j, i);
+                } else {
+                    int k = i;
+                    scheduler.run(le, () -> {
+                        TideDamage.enter();
+                        try {
+                            applyTo(j, k);
+                        } finally {
+                            TideDamage.exit();
+                        }
+                    });
+                }
+            }
+        } finally {
+            TideDamage.exit();
+        }
+    }
+
+    private static void applyTo(Job j, int i) {
+        LivingEntity le = j.targets[i];
+        if (!le.isValid() || !le.getWorld().getUID().equals(j.worldId)) return;
+        TideMetrics.affected(j.ability);
+
+        if (j.damage > 0.0 && j.caster.isOnline()) le.damage(j.damage, j.caster);
+        if (j.kernel != Kernel.NONE && j.vx != null) {
+            // Checked on the sum, like safeFinite: a broken current velocity is cleared too
+            Vector v = le.getVelocity();
+            double x = v.getX() + j.vx[i], y = v.getY() + j.vy[i], z = v.getZ() + j.vz[i];
+            v.setX(Double.isFinite(x) ? x : 0.0);
+            v.setY(Double.isFinite(y) ? y : 0.0);
+            v.setZ(Double.isFinite(z) ? z : 0.0);
+            le.setVelocity(v);
+        }
+        for (PotionEffect e : j.effects) le.addPotionEffect(e);
+    }
+
+    // ------------------------------------------------------------
+    // Job
+    // ------------------------------------------------------------
+
+    /**
+     * One cast's targets. Filled on the main thread, read by the worker after {@link #submit},
+     * and handed back through the ready queue, so each stage sees the previous one's writes.
+     */
+    final class Job {
+        final TideAbility ability;
+        final Kernel kernel;
+        final Player caster;
+        final UUID worldId;
+        final double cx, cy, cz;
+        final double hx, hy, hz;
+        final double force;
+        final double damage;
+        final PotionEffect[] effects;
+
+        LivingEntity[] targets = new LivingEntity[8];
+        double[] tx = new double[8], ty = new double[8], tz = new double[8];
+        int count;
+
+        double[] vx, vy, vz;
+
+        private Job(TideAbility ability, Kernel kernel, Player caster, Location origin,
+                    double hx, double hy, double hz, double force, double damage, PotionEffect[] effects) {
+            World w = origin.getWorld();
+            this.ability = ability;
+            this.kernel = kernel;
+            this.caster = caster;
+            this.worldId = w == null ? null : w.getUID();
+            this.cx = origin.getX();
+            this.cy = origin.getY();
+            this.cz = origin.getZ();
+            this.hx = hx;
+            this.hy = hy;
+            this.hz = hz;
+            this.force = force;
+            this.damage = damage;
+            this.effects = effects;
+        }
+
+        /** Captures a target and its current feet position; returns its index in this job. */
+        int add(LivingEntity le) {
+            if (count == targets.length) {
+                int cap = count * 2;
+                targets = Arrays.copyOf(targets, cap);
+                tx = Arrays.copyOf(tx, cap);
+                ty = Arrays.copyOf(ty, cap);
+                tz = Arrays.copyOf(tz, cap);
+            }
+            le.getLocation(scratch);
+            targets[count] = le;
+            tx[count] = scratch.getX();
+            ty[count] = scratch.getY();
+            tz[count] = scratch.getZ();
+            return count++;
+        }
+    }
+}
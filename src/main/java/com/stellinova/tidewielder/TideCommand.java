@@ -25,14 +25,20 @@ public class TideCommand implements CommandExecutor {
             sender.sendMessage(ChatColor.AQUA + "/tide status");
             sender.sendMessage(ChatColor.AQUA + "/tide rune" + ChatColor.GRAY + " — enable TideWielder for yourself");
             sender.sendMessage(ChatColor.AQUA + "/tide reset" + ChatColor.GRAY + " — disable TideWielder");
-            sender.sendMessage(ChatColor.AQUA + "/tide reload" + ChatColor.GRAY + " — rebuild HUD");
+            sender.sendMessage(ChatColor.AQUA + "/tide reload" + ChatColor.GRAY + " — reload config and rebuild HUD");
+            sender.sendMessage(ChatColor.AQUA + "/tide fx [full|reduced]" + ChatColor.GRAY + " — ability effect detail you see");
+            if (sender.hasPermission("tidewielder.debug")) {
+                sender.sendMessage(ChatColor.AQUA + "/tide debug memory" + ChatColor.GRAY + " — per-player state sizes");
+                sender.sendMessage(ChatColor.AQUA + "/tide perf [on|off|reset]" + ChatColor.GRAY + " — phase timings");
+            }
             return true;
         }
 
         if (args[0].equalsIgnoreCase("status")) {
             if (!(sender instanceof Player p)) { sender.sendMessage("Players only."); return true; }
             TidePlayerData d = manager.data(p);
-            int lvl = (evo != null ? evo.getEvoLevel(p.getUniqueId()) : TideEvoBridge.evo(p));
+            TideEvoBridge.invalidate(p.getUniqueId());
+            int lvl = TideEvoBridge.profile(p).level();
             boolean can = TideAccessBridge.canUseTide(p);
             sender.sendMessage(ChatColor.AQUA + "TideWielder Status");
             sender.sendMessage(ChatColor.GRAY + "  Rune: " + (can ? ChatColor.GREEN + "TideWielder" : ChatColor.RED + "No Rune"));
@@ -61,14 +67,85 @@ public class TideCommand implements CommandExecutor {
             return true;
         }
 
-        if (args[0].equalsIgnoreCase("reload")) {
+        if (args[0].equalsIgnoreCase("fx")) {
             if (!(sender instanceof Player p)) { sender.sendMessage("Players only."); return true; }
-            hud.refresh(p);
-            sender.sendMessage(ChatColor.GREEN + "Tide HUD rebuilt.");
+            TideFx fx = manager.fx();
+            if (args.length >= 2 && (args[1].equalsIgnoreCase("full") || args[1].equalsIgnoreCase("reduced"))) {
+                fx.setReduced(p, args[1].equalsIgnoreCase("reduced"));
+            }
+            sender.sendMessage(ChatColor.AQUA + "Tide FX: " + (fx.isReduced(p)
+                    ? ChatColor.YELLOW + "reduced" + ChatColor.GRAY + " (/tide fx full to restore)"
+                    : ChatColor.GREEN + "full" + ChatColor.GRAY + " (/tide fx reduced for less)"));
+            return true;
+        }
+
+        if (args[0].equalsIgnoreCase("reload")) {
+            if (sender.hasPermission("tidewielder.reload")) {
+                plugin.reloadConfig();
+                manager.reload();
+                sender.sendMessage(ChatColor.GREEN + "Tide abilities reloaded.");
+            }
+            if (sender instanceof Player p) {
+                hud.rebuild(p);
+                sender.sendMessage(ChatColor.GREEN + "Tide HUD rebuilt.");
+            }
+            return true;
+        }
+
+        if (args[0].equalsIgnoreCase("perf")) {
+            if (!sender.hasPermission("tidewielder.debug")) { sender.sendMessage(ChatColor.RED + "No permission."); return true; }
+            String mode = args.length >= 2 ? args[1].toLowerCase(java.util.Locale.ROOT) : "";
+            switch (mode) {
+                case "on" -> { TidePerf.setEnabled(true); sender.sendMessage(ChatColor.GREEN + "Tide profiler on."); }
+                case "off" -> { TidePerf.setEnabled(false); sender.sendMessage(ChatColor.RED + "Tide profiler off."); }
+                case "reset" -> { TidePerf.reset(); sender.sendMessage(ChatColor.GREEN + "Tide profiler reset."); }
+                default -> sendPerf(sender);
+            }
+            return true;
+        }
+
+        if (args[0].equalsIgnoreCase("debug")) {
+            if (!sender.hasPermission("tidewielder.debug")) { sender.sendMessage(ChatColor.RED + "No permission."); return true; }
+            if (args.length >= 2 && args[1].equalsIgnoreCase("memory")) {
+                TideStateStore st = manager.state();
+                sender.sendMessage(ChatColor.AQUA + "TideWielder Memory");
+                sender.sendMessage(ChatColor.GRAY + "  Slots: " + ChatColor.WHITE + st.size()
+                        + ChatColor.GRAY + " held (" + st.detachedCount() + " offline), "
+                        + st.freeCount() + " free, capacity " + st.capacity());
+                sender.sendMessage(ChatColor.GRAY + "  Active: " + ChatColor.WHITE + st.activeCount
+                        + ChatColor.GRAY + "  Pending input: " + ChatColor.WHITE + st.pendingCount
+                        + ChatColor.GRAY + "  Action bar queued: " + ChatColor.WHITE + st.abCount);
+                sender.sendMessage(ChatColor.GRAY + "  Timers: " + ChatColor.WHITE + manager.timersPending()
+                        + ChatColor.GRAY + "  Evicted: " + ChatColor.WHITE + manager.evictions());
+                sender.sendMessage(ChatColor.GRAY + "  Access cache: " + ChatColor.WHITE + TideAccessBridge.cachedCount()
+                        + ChatColor.GRAY + "  Evo profiles: " + ChatColor.WHITE + TideEvoBridge.cachedProfiles()
+                        + ChatColor.GRAY + "  HUD boards: " + ChatColor.WHITE + hud.boardCount());
+                sender.sendMessage(ChatColor.GRAY + "  Cooldown bars: " + ChatColor.WHITE + manager.cooldownBars().live()
+                        + ChatColor.GRAY + " live, " + manager.cooldownBars().pooled() + " pooled");
+                sender.sendMessage(ChatColor.GRAY + "  FX queued: " + ChatColor.WHITE + manager.fx().queued()
+                        + ChatColor.GRAY + "  Cast jobs: " + ChatColor.WHITE + manager.castsPending());
+                sender.sendMessage(ChatColor.GRAY + "  FX sends: " + ChatColor.WHITE + manager.fx().packets()
+                        + ChatColor.GRAY + "  LOD culled: " + ChatColor.WHITE + manager.fx().culled());
+                return true;
+            }
+            sender.sendMessage(ChatColor.RED + "Usage: /tide debug memory");
             return true;
         }
 
         sender.sendMessage(ChatColor.RED + "Unknown subcommand. Use /tide for help.");
         return true;
     }
+
+    private void sendPerf(CommandSender sender) {
+        sender.sendMessage(ChatColor.AQUA + "TideWielder Perf " + ChatColor.GRAY
+                + (TidePerf.enabled() ? "(recording)" : "(off — /tide perf on)"));
+        sender.sendMessage(ChatColor.DARK_GRAY + "  phase: calls/s  p50 / p99 / max (µs)");
+        for (TidePerf.Phase ph : TidePerf.phases()) {
+            TidePerf.Stats st = TidePerf.stats(ph);
+            if (st.calls() == 0L) continue;
+            sender.sendMessage(ChatColor.GRAY + "  " + ph.label + ": " + ChatColor.WHITE
+                    + String.format(java.util.Locale.US, "%.1f/s  %.1f / %.1f / %.1f",
+                    st.perSecond(), st.p50() / 1000.0, st.p99() / 1000.0, st.max() / 1000.0));
+        }
+    }
 }
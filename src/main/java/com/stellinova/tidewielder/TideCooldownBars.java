@@ -0,0 +1,142 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+
+/**
+ * Cooldown bossbars: one bar per running cooldown, so a Surge cast no longer hides the bar of
+ * a Typhoon that is still cooling down. Bars come from a shared pool and go back to it when
+ * the cooldown ends.
+ *
+ * State lives in {@link TideStateStore} ({@code cd*} arrays). {@link #update} only sends a
+ * title when the shown tenth of a second changes and a progress value when the bar moves to
+ * the next {@link #PROGRESS_STEPS} step.
+ */
+final class TideCooldownBars {
+
+    private static final int PROGRESS_STEPS = 40;
+    private static final int POOL_MAX = 64;
+
+    private static final String[] TITLE_PREFIX = new String[TideAbility.COUNT];
+    static {
+        for (TideAbility a : TideAbility.VALUES) {
+            TITLE_PREFIX[a.ordinal()] = ChatColor.AQUA + a.label() + ChatColor.GRAY + " cooldown • ";
+        }
+    }
+
+    private final TideStateStore store;
+    private final ArrayDeque<BossBar> pool = new ArrayDeque<>();
+    private int live;
+
+    TideCooldownBars(TideStateStore store) {
+        this.store = store;
+    }
+
+    /** Starts (or restarts) the bar for one cooldown. */
+    void show(Player p, int slot, TideAbility a, long startMs, long endMs, BarColor color) {
+        int i = slot * TideAbility.COUNT + a.ordinal();
+        BossBar bar = store.cdBar[i];
+        if (bar == null) {
+            bar = pool.poll();
+            if (bar == null) bar = Bukkit.createBossBar("", color, BarStyle.SEGMENTED_10);
+            store.cdBar[i] = bar;
+            live++;
+        }
+        bar.setColor(color);
+        bar.setProgress(0.0);
+        bar.addPlayer(p);
+        bar.setVisible(true);
+        store.cdStart[i] = startMs;
+        store.cdEnd[i] = endMs;
+        store.cdShownTenths[i] = -1;
+        store.cdShownStep[i] = -1;
+    }
+
+    /** Pushes visible changes for every running cooldown of the slot. */
+    void update(int slot, long now) {
+        TideStateStore st = store;
+        int base = slot * TideAbility.COUNT;
+        for (int a = 0; a < TideAbility.COUNT; a++) {
+            int i = base + a;
+            BossBar bar = st.cdBar[i];
+            if (bar == null) continue;
+            long end = st.cdEnd[i];
+            if (now >= end) continue; // released by the cooldown-ready timer
+
+            long left = end - now;
+            int tenths = (int) ((left + 99L) / 100L);
+            if (tenths != st.cdShownTenths[i]) {
+                st.cdShownTenths[i] = tenths;
+                bar.setTitle(TITLE_PREFIX[a] + (tenths / 10) + "." + (tenths % 10) + "s");
+            }
+
+            double total = Math.max(1.0, (double) (end - st.cdStart[i]));
+            int step = (int) (Math.max(0.0, Math.min(1.0, 1.0 - (left / total))) * PROGRESS_STEPS);
+            if (step != st.cdShownStep[i]) {
+                st.cdShownStep[i] = step;
+                bar.setProgress((double) step / PROGRESS_STEPS);
+            }
+        }
+    }
+
+    /** True while any bar of the slot still has time left. */
+    boolean running(int slot, long now) {
+        int base = slot * TideAbility.COUNT;
+        for (int a = 0; a < TideAbility.COUNT; a++) {
+            if (store.cdBar[base + a] != null && now < store.cdEnd[base + a]) return true;
+        }
+        return false;
+    }
+
+    /** Hides the bar if it is still showing the cooldown that ends at {@code endMs}. */
+    void ready(int slot, TideAbility a, long endMs) {
+        int i = slot * TideAbility.COUNT + a.ordinal();
+        if (store.cdBar[i] != null && store.cdEnd[i] == endMs) release(i);
+    }
+
+    /** Returns every bar of the slot to the pool (quit, rune revoked). */
+    void clear(int slot) {
+        int base = slot * TideAbility.COUNT;
+        for (int a = 0; a < TideAbility.COUNT; a++) {
+            if (store.cdBar[base + a] != null) release(base + a);
+        }
+    }
+
+    int live() {
+        return live;
+    }
+
+    int pooled() {
+        return pool.size();
+    }
+
+    void shutdown() {
+        BossBar[] bars = store.cdBar;
+        for (int i = 0; i < bars.length; i++) {
+            BossBar b = bars[i];
+            if (b == null) continue;
+            try { b.setVisible(false); b.removeAll(); } catch (Throwable ignored) {}
+            bars[i] = null;
+        }
+        pool.clear();
+        live = 0;
+    }
+
+    private void release(int i) {
+        BossBar bar = store.cdBar[i];
+        store.cdBar[i] = null;
+        store.cdEnd[i] = 0L;
+        live--;
+        try {
+            bar.setVisible(false);
+            bar.removeAll();
+        } catch (Throwable ignored) {}
+        if (pool.size() < POOL_MAX) pool.push(bar);
+    }
+}
@@ -0,0 +1,34 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+
+/**
+ * Marks damage that TideWielder deals itself. Bukkit fires EntityDamageByEntityEvent
+ * synchronously inside {@link LivingEntity#damage(double, Entity)}, so while a batch is open
+ * on this thread every damage event our listeners see came from the plugin, and they can
+ * return straight away. Other plugins still see the events (protection, combat tags).
+ *
+ * Usage: {@code TideDamage.enter(); try { ... le.damage(amount, caster) ... } finally { TideDamage.exit(); }}
+ */
+final class TideDamage {
+
+    // Per thread: a region-threaded scheduler may apply batches on several threads at once
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private TideDamage() {}
+
+    static void enter() {
+        DEPTH.get()[0]++;
+    }
+
+    static void exit() {
+        int[] d = DEPTH.get();
+        if (d[0] > 0) d[0]--;
+    }
+
+    /** True while plugin-originated damage is being applied on this thread. */
+    static boolean internal() {
+        return DEPTH.get()[0] > 0;
+    }
+}
@@ -1,31 +1,117 @@
 package com.stellinova.tidewielder;
 
+import com.example.evo.api.IEvoService;
 import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class TideEvoBridge {
 
     private enum Link { SERVICE, PAPI, NONE }
 
-    private static Link linkMode = Link.NONE;
+    // An unhooked bridge probes again at most this often, or when a service registers
+    private static final long PROBE_RETRY_MS = 30_000L;
+
+    // Handles are written before linkMode, so a thread that reads SERVICE sees them
+    private static volatile Link linkMode = Link.NONE;
+    private static volatile long nextProbeAt; // 0 = probe on the next call
     private static Class<?> svcClass;
     private static Object serviceInstance;
-    private static Method mGetEvo;
-    private static Method mGetScalar;
+
+    // Bound to serviceInstance at hook time: (Player)int and (Player,String)double
+    private static MethodHandle hGetEvo;
+    private static MethodHandle hGetScalar;
+
+    private static final MethodType EVO_TYPE = MethodType.methodType(int.class, Player.class);
+    private static final MethodType SCALAR_TYPE = MethodType.methodType(double.class, Player.class, String.class);
+
+    // Cached per-player Evo profiles (refreshed after TTL or on invalidate)
+    private static final long PROFILE_TTL_MS = 2_000L;
+    private static final Map<UUID, TideEvoProfile> PROFILES = new ConcurrentHashMap<>();
+    private static IEvoService direct; // nullable
 
     private TideEvoBridge() {}
 
+    public static void init(IEvoService svc) {
+        direct = svc;
+        linkMode = Link.NONE;
+        nextProbeAt = 0L;
+        PROFILES.clear();
+    }
+
+    /** A service was registered: an unhooked bridge probes again on its next call. */
+    public static void rehook() {
+        if (linkMode != Link.SERVICE) nextProbeAt = 0L;
+    }
+
+    /** A service was unregistered: if it is the hooked one, drop it and probe again. */
+    public static void unhook(Object provider) {
+        if (linkMode != Link.SERVICE || provider != serviceInstance) return;
+        linkMode = Link.NONE;
+        serviceInstance = null;
+        nextProbeAt = 0L;
+        PROFILES.clear();
+    }
+
+    /**
+     * Cached Evo level and multipliers for a player. The first call after the TTL
+     * (or after {@link #invalidate}) rebuilds the profile; every other call is a map read.
+     */
+    public static TideEvoProfile profile(Player p) {
+        long now = System.currentTimeMillis();
+        TideEvoProfile prof = PROFILES.get(p.getUniqueId());
+        if (prof != null && !prof.expired(now)) return prof;
+
+        prof = TideEvoProfile.of(
+                level(p),
+                m(p, "maelstrom"),
+                m(p, "bubble"),
+                m(p, "pool"),
+                m(p, "surge"),
+                m(p, "typhoon"),
+                now + PROFILE_TTL_MS
+        );
+        PROFILES.put(p.getUniqueId(), prof);
+        return prof;
+    }
+
+    public static void invalidate(UUID id) {
+        PROFILES.remove(id);
+    }
+
+    public static void invalidateAll() {
+        PROFILES.clear();
+    }
+
+    static int cachedProfiles() {
+        return PROFILES.size();
+    }
+
+    private static int level(Player p) {
+        if (direct != null) {
+            try {
+                return Math.max(0, Math.min(3, direct.getEvoLevel(p.getUniqueId())));
+            } catch (Throwable ignored) {}
+        }
+        return evo(p);
+    }
+
     public static int evo(Player p) {
         ensureHooked();
         if (p == null) return 0;
         if (linkMode == Link.SERVICE) {
             try {
-                Object res = mGetEvo.invoke(serviceInstance, p);
-                if (res instanceof Number n) return Math.max(0, Math.min(3, n.intValue()));
+                int lvl = (int) hGetEvo.invokeExact(p);
+                return Math.max(0, Math.min(3, lvl));
             } catch (Throwable ignored) {}
         }
         if (linkMode == Link.PAPI) {
@@ -41,8 +127,7 @@ public final class TideEvoBridge {
         ensureHooked();
         if (p != null && linkMode == Link.SERVICE) {
             try {
-                Object res = mGetScalar.invoke(serviceInstance, p, key.toLowerCase(Locale.ROOT));
-                if (res instanceof Number n) return n.doubleValue();
+                return (double) hGetScalar.invokeExact(p, key.toLowerCase(Locale.ROOT));
             } catch (Throwable ignored) {}
         }
         if (p != null && linkMode == Link.PAPI) {
@@ -72,8 +157,16 @@ public final class TideEvoBridge {
         return 1.0 + bonus * Math.max(0, Math.min(3, lvl));
     }
 
+    /**
+     * Hooked stays hooked. Otherwise the probe result (PAPI or nothing) is kept until the retry
+     * time or the next service registration, so a server without EvoCore does not pay two
+     * failed Class.forName calls on every lookup.
+     */
     private static void ensureHooked() {
-        if (linkMode != Link.NONE) return;
+        if (linkMode == Link.SERVICE) return;
+        long now = System.currentTimeMillis();
+        if (now < nextProbeAt) return;
+        nextProbeAt = now + PROBE_RETRY_MS;
 
         if (tryLoadServiceClass("com.example.evo.IEvoService")) return;
         if (tryLoadServiceClass("com.example.evo.api.IEvoService")) return;
@@ -91,17 +184,30 @@ public final class TideEvoBridge {
             Object svc = Bukkit.getServicesManager().load(clazz);
             if (svc == null) return false;
 
-            Method getEvo = findMethod(clazz, "getEvo", org.bukkit.entity.Player.class);
-            if (getEvo == null) getEvo = findMethod(clazz, "getEvoLevel", java.util.UUID.class);
-            if (getEvo == null) return false;
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            MethodHandle getEvo;
+            Method byPlayer = findMethod(clazz, "getEvo", org.bukkit.entity.Player.class);
+            if (byPlayer != null) {
+                getEvo = lookup.unreflect(byPlayer).bindTo(svc);
+            } else {
+                Method byId = findMethod(clazz, "getEvoLevel", java.util.UUID.class);
+                if (byId == null) return false;
+                MethodHandle playerId = lookup.findVirtual(Player.class, "getUniqueId",
+                        MethodType.methodType(UUID.class));
+                getEvo = MethodHandles.filterArguments(lookup.unreflect(byId).bindTo(svc), 0, playerId);
+            }
 
             Method getScalar = findMethod(clazz, "getScalar", org.bukkit.entity.Player.class, String.class);
             if (getScalar == null) return false;
 
+            MethodHandle evoHandle = typed(getEvo, EVO_TYPE);
+            MethodHandle scalarHandle = typed(lookup.unreflect(getScalar).bindTo(svc), SCALAR_TYPE);
+
             svcClass = clazz;
             serviceInstance = svc;
-            mGetEvo = getEvo;
-            mGetScalar = getScalar;
+            hGetEvo = evoHandle;
+            hGetScalar = scalarHandle;
             linkMode = Link.SERVICE;
             return true;
         } catch (Throwable ignored) {
@@ -109,6 +215,22 @@ public final class TideEvoBridge {
         }
     }
 
+    /**
+     * Adapts a bound service handle to the exact primitive signature the hot path calls with
+     * invokeExact. Primitive returns are cast directly; boxed/Number returns are unwrapped
+     * through Number.intValue/doubleValue once here instead of an instanceof check per call.
+     */
+    private static MethodHandle typed(MethodHandle h, MethodType target) throws ReflectiveOperationException {
+        Class<?> want = target.returnType();
+        Class<?> ret = h.type().returnType();
+        if (!ret.isPrimitive()) {
+            MethodHandle unbox = MethodHandles.publicLookup().findVirtual(Number.class,
+                    want == int.class ? "intValue" : "doubleValue", MethodType.methodType(want));
+            h = MethodHandles.filterReturnValue(h.asType(h.type().changeReturnType(Number.class)), unbox);
+        }
+        return MethodHandles.explicitCastArguments(h, target);
+    }
+
     private static Method findMethod(Class<?> clazz, String name, Class<?>... params) {
         try {
             return clazz.getMethod(name, params);
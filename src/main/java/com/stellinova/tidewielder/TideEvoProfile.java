@@ -0,0 +1,27 @@
+package com.stellinova.tidewielder;
+
+/**
+ * Immutable snapshot of a player's Evo state: level and per-ability multipliers. Cooldowns and
+ * other per-level tuning live in {@link TideSpecs}. Built by {@link TideEvoBridge#profile} and
+ * cached per player so casts, the HUD and placeholders read plain fields.
+ */
+public record TideEvoProfile(
+        int level,
+        double maelstrom,
+        double bubble,
+        double pool,
+        double surge,
+        double typhoon,
+        long expiresAt
+) {
+
+    public static TideEvoProfile of(int level, double maelstrom, double bubble, double pool,
+                                    double surge, double typhoon, long expiresAt) {
+        int lvl = Math.max(0, Math.min(TideSpecs.MAX_LEVEL, level));
+        return new TideEvoProfile(lvl, maelstrom, bubble, pool, surge, typhoon, expiresAt);
+    }
+
+    public boolean expired(long now) {
+        return now >= expiresAt;
+    }
+}
@@ -2,20 +2,50 @@ package com.stellinova.tidewielder;
 
 import com.example.evo.api.IEvoService;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public class TideExpansion extends PlaceholderExpansion {
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TideExpansion extends PlaceholderExpansion implements Listener {
+
+    // Placeholder ids; cooldown ids match TideAbility ordinals
+    private static final int EVO        = TideAbility.COUNT;
+    private static final int MULT_FIRST = EVO + 1;
+    private static final int KEYS       = MULT_FIRST + TideAbility.COUNT;
+
+    /** Raw identifier -> placeholder id, built once. */
+    private static final Map<String, Integer> TABLE = new HashMap<>();
+    static {
+        TABLE.put("evo", EVO);
+        for (TideAbility a : TideAbility.VALUES) {
+            String name = a.name().toLowerCase(Locale.ROOT);
+            TABLE.put(name + "_cd", a.ordinal());
+            TABLE.put(name + "_mult", MULT_FIRST + a.ordinal());
+        }
+    }
 
     private final TideWielderPlugin plugin;
     private final TideManager manager;
     private final IEvoService evo;
 
+    private final Map<UUID, Memo> memos = new ConcurrentHashMap<>();
+
     public TideExpansion(TideWielderPlugin plugin, TideManager manager, IEvoService evo) {
         this.plugin = plugin;
         this.manager = manager;
         this.evo = evo;
+        Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
     @Override public @NotNull String getIdentifier() { return "tide"; }
@@ -25,32 +55,89 @@ public class TideExpansion extends PlaceholderExpansion {
     @Override
     public @Nullable String onPlaceholderRequest(Player p, @NotNull String params) {
         if (p == null) return "";
-        TidePlayerData d = manager.data(p);
-
-        switch (params.toLowerCase()) {
-            case "evo":
-                return String.valueOf(evo != null ? evo.getEvoLevel(p.getUniqueId()) : TideEvoBridge.evo(p));
-            case "maelstrom_cd":
-                return String.valueOf(Math.max(0, d.getMaelstromReadyAt() - System.currentTimeMillis()));
-            case "bubble_cd":
-                return String.valueOf(Math.max(0, d.getBubbleReadyAt() - System.currentTimeMillis()));
-            case "tidepool_cd":
-                return String.valueOf(Math.max(0, d.getTidepoolReadyAt() - System.currentTimeMillis()));
-            case "surge_cd":
-                return String.valueOf(Math.max(0, d.getSurgeReadyAt() - System.currentTimeMillis()));
-            case "typhoon_cd":
-                return String.valueOf(Math.max(0, d.getTyphoonReadyAt() - System.currentTimeMillis()));
-            case "maelstrom_mult": return fmt(TideEvoBridge.m(p, "maelstrom"));
-            case "bubble_mult":    return fmt(TideEvoBridge.m(p, "bubble"));
-            case "tidepool_mult":  return fmt(TideEvoBridge.m(p, "pool"));
-            case "surge_mult":     return fmt(TideEvoBridge.m(p, "surge"));
-            case "typhoon_mult":   return fmt(TideEvoBridge.m(p, "typhoon"));
-            default:
-                return "";
+        long t0 = TidePerf.start();
+        String out = resolve(p, params);
+        TidePerf.stop(TidePerf.Phase.PLACEHOLDER, t0);
+        return out;
+    }
+
+    private String resolve(Player p, String params) {
+
+        Integer key = TABLE.get(params);
+        if (key == null) {
+            // Unusual casing; the common path never lowercases
+            key = TABLE.get(params.toLowerCase(Locale.ROOT));
+            if (key == null) return "";
+        }
+        int k = key;
+
+        UUID id = p.getUniqueId();
+        Memo m = memos.get(id);
+        if (m == null) {
+            // A request racing the quit must not leave a memo behind
+            if (!p.isOnline()) return render(k, raw(p, k));
+            m = memos.computeIfAbsent(id, x -> new Memo());
+        }
+        long tick = manager.currentTick();
+        synchronized (m) {
+            if (m.at[k] == tick && m.text[k] != null) return m.text[k];
+            long raw = raw(p, k);
+            if (m.text[k] == null || m.raw[k] != raw) {
+                m.raw[k] = raw;
+                m.text[k] = render(k, raw);
+            }
+            m.at[k] = tick;
+            return m.text[k];
         }
     }
 
-    private String fmt(double d) {
-        return String.format(java.util.Locale.US, "%.2f", d);
+    @EventHandler
+    public void onQuit(PlayerQuitEvent e) {
+        memos.remove(e.getPlayer().getUniqueId());
+    }
+
+    // ------------------------------------------------------------
+    // Values
+    // ------------------------------------------------------------
+
+    /** Numeric value behind a placeholder; the text is only rebuilt when this changes. */
+    private long raw(Player p, int k) {
+        if (k < EVO) {
+            TideStateStore st = manager.state();
+            int s = st.find(p.getUniqueId());
+            if (s < 0) return 0L;
+            // Exact ms against the time sampled at the start of the tick, so it holds for the tick's memo
+            return Math.max(0L, st.readyAt(s, TideAbility.VALUES[k]) - manager.tickMillis());
+        }
+        TideEvoProfile prof = TideEvoBridge.profile(p);
+        if (k == EVO) return prof.level();
+        double v = switch (TideAbility.VALUES[k - MULT_FIRST]) {
+            case MAELSTROM -> prof.maelstrom();
+            case BUBBLE -> prof.bubble();
+            case TIDEPOOL -> prof.pool();
+            case SURGE -> prof.surge();
+            case TYPHOON -> prof.typhoon();
+        };
+        return Double.doubleToLongBits(v);
+    }
+
+    private static String render(int k, long raw) {
+        if (k >= MULT_FIRST) return fmt(Double.longBitsToDouble(raw));
+        return Long.toString(raw);
+    }
+
+    private static String fmt(double d) {
+        return String.format(Locale.US, "%.2f", d);
+    }
+
+    /** Last rendered text per placeholder, with the tick it was produced in. */
+    private static final class Memo {
+        final long[] at = new long[KEYS];
+        final long[] raw = new long[KEYS];
+        final String[] text = new String[KEYS];
+
+        Memo() {
+            Arrays.fill(at, -1L);
+        }
     }
 }
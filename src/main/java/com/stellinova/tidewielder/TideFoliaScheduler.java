@@ -0,0 +1,166 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@link TideScheduler} for Folia's region threads. The Folia scheduler API is not part of the
+ * Spigot API we build against, so it is bound by reflection once, on enable.
+ *
+ * Repeating tasks run on the global region thread, which owns no entities; entity work goes to
+ * the entity's own scheduler and position work to the region that owns the chunk.
+ */
+final class TideFoliaScheduler implements TideScheduler {
+
+    private static final String REGIONIZED_SERVER = "io.papermc.paper.threadedregions.RegionizedServer";
+    private static final String SCHEDULERS = "io.papermc.paper.threadedregions.scheduler.";
+
+    private final Plugin plugin;
+    private final Object global;
+    private final Object async;
+    private final Object regions;
+
+    // (scheduler, plugin, Consumer<ScheduledTask>, delay, period[, unit]) -> ScheduledTask
+    private final MethodHandle hGlobalRate;
+    private final MethodHandle hAsyncRate;
+    // (scheduler, plugin, world, chunkX, chunkZ, task)
+    private final MethodHandle hRegionRun;
+    // (entity) -> EntityScheduler; (scheduler, plugin, task, retired, delay)
+    private final MethodHandle hEntityScheduler;
+    private final MethodHandle hEntityRun;
+    private final MethodHandle hOwnsEntity;
+    private final MethodHandle hOwnsChunk;
+    private final MethodHandle hCancel;
+
+    /** True when the server runs Folia's region threads. */
+    static boolean isFolia() {
+        try {
+            Class.forName(REGIONIZED_SERVER);
+            return true;
+        } catch (Throwable ignored) {
+            return false;
+        }
+    }
+
+    TideFoliaScheduler(Plugin plugin) {
+        this.plugin = plugin;
+        try {
+            MethodHandles.Lookup l = MethodHandles.publicLookup();
+            Class<?> globalType = Class.forName(SCHEDULERS + "GlobalRegionScheduler");
+            Class<?> asyncType = Class.forName(SCHEDULERS + "AsyncScheduler");
+            Class<?> regionType = Class.forName(SCHEDULERS + "RegionScheduler");
+            Class<?> entityType = Class.forName(SCHEDULERS + "EntityScheduler");
+            Class<?> taskType = Class.forName(SCHEDULERS + "ScheduledTask");
+
+            global = l.findStatic(Bukkit.class, "getGlobalRegionScheduler", MethodType.methodType(globalType)).invoke();
+            async = l.findStatic(Bukkit.class, "getAsyncScheduler", MethodType.methodType(asyncType)).invoke();
+            regions = l.findStatic(Bukkit.class, "getRegionScheduler", MethodType.methodType(regionType)).invoke();
+
+            hGlobalRate = l.findVirtual(globalType, "runAtFixedRate",
+                            MethodType.methodType(taskType, Plugin.class, Consumer.class, long.class, long.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, Plugin.class, Consumer.class, long.class, long.class));
+            hAsyncRate = l.findVirtual(asyncType, "runAtFixedRate",
+                            MethodType.methodType(taskType, Plugin.class, Consumer.class, long.class, long.class, TimeUnit.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, Plugin.class, Consumer.class, long.class, long.class, TimeUnit.class));
+            hRegionRun = l.findVirtual(regionType, "execute",
+                            MethodType.methodType(void.class, Plugin.class, World.class, int.class, int.class, Runnable.class))
+                    .asType(MethodType.methodType(void.class, Object.class, Plugin.class, World.class, int.class, int.class, Runnable.class));
+            hEntityScheduler = l.findVirtual(Entity.class, "getScheduler", MethodType.methodType(entityType))
+                    .asType(MethodType.methodType(Object.class, Entity.class));
+            hEntityRun = l.findVirtual(entityType, "execute",
+                            MethodType.methodType(boolean.class, Plugin.class, Runnable.class, Runnable.class, long.class))
+                    .asType(MethodType.methodType(void.class, Object.class, Plugin.class, Runnable.class, Runnable.class, long.class));
+            hOwnsEntity = l.findStatic(Bukkit.class, "isOwnedByCurrentRegion",
+                    MethodType.methodType(boolean.class, Entity.class));
+            hOwnsChunk = l.findStatic(Bukkit.class, "isOwnedByCurrentRegion",
+                    MethodType.methodType(boolean.class, World.class, int.class, int.class));
+            hCancel = l.findVirtual(taskType, "cancel", MethodType.methodType(taskType.getMethod("cancel").getReturnType()))
+                    .asType(MethodType.methodType(void.class, Object.class));
+        } catch (Throwable t) {
+            throw new IllegalStateException("Folia detected, but its scheduler API could not be bound", t);
+        }
+    }
+
+    @Override
+    public Task repeat(Runnable task, long delayTicks, long periodTicks) {
+        Consumer<Object> body = st -> task.run();
+        try {
+            return handle(hGlobalRate.invokeExact(global, plugin, body, Math.max(1L, delayTicks), Math.max(1L, periodTicks)));
+        } catch (Throwable t) {
+            throw new IllegalStateException("could not schedule on the global region", t);
+        }
+    }
+
+    @Override
+    public Task repeatAsync(Runnable task, long delayTicks, long periodTicks) {
+        Consumer<Object> body = st -> task.run();
+        try {
+            return handle(hAsyncRate.invokeExact(async, plugin, body,
+                    Math.max(1L, delayTicks) * 50L, Math.max(1L, periodTicks) * 50L, TimeUnit.MILLISECONDS));
+        } catch (Throwable t) {
+            throw new IllegalStateException("could not schedule an async task", t);
+        }
+    }
+
+    @Override
+    public boolean owns(Entity e) {
+        try {
+            return (boolean) hOwnsEntity.invokeExact(e);
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean owns(World w, double x, double z) {
+        try {
+            return (boolean) hOwnsChunk.invokeExact(w, chunk(x), chunk(z));
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    @Override
+    public void run(Entity e, Runnable task) {
+        if (owns(e)) {
+            task.run();
+            return;
+        }
+        // Folia refuses it only for an entity that is gone, and then there is nothing left to do
+        try {
+            Object es = hEntityScheduler.invokeExact(e);
+            hEntityRun.invokeExact(es, plugin, task, (Runnable) null, 1L);
+        } catch (Throwable ignored) {}
+    }
+
+    @Override
+    public void run(World w, double x, double z, Runnable task) {
+        if (owns(w, x, z)) {
+            task.run();
+            return;
+        }
+        try {
+            hRegionRun.invokeExact(regions, plugin, w, chunk(x), chunk(z), task);
+        } catch (Throwable ignored) {}
+    }
+
+    private Task handle(Object scheduled) {
+        return () -> {
+            try {
+                hCancel.invokeExact(scheduled);
+            } catch (Throwable ignored) {}
+        };
+    }
+
+    private static int chunk(double v) {
+        return ((int) Math.floor(v)) >> 4;
+    }
+}
@@ -0,0 +1,534 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-tick particle / sound budget for all TideWielder FX.
+ *
+ * Every spawnParticle / playSound goes through here. The budget counts packets, one per viewer
+ * a point or sound is sent to, and a call only goes out if one packet for every viewer in range
+ * still fits in the tick (and the world). Once it no longer fits, {@link Priority#NORMAL} work is
+ * queued and drained on the following ticks, and {@link Priority#COSMETIC} work is dropped.
+ * Cosmetics are also cut off early (at {@code cosmetic-share} of the budget) so they are the
+ * first thing to go in a busy fight. {@link Priority#CORE} (cast feedback) is always sent but
+ * still counts against the budget.
+ *
+ * Nothing is broadcast with World.spawnParticle / playSound. An effect (one shape, or one
+ * single call) looks up its viewers once from a per-tick snapshot of the world's players and
+ * every point is sent per viewer with a level of detail: viewers within {@code full-distance}
+ * get everything, viewers out to {@code view-distance} get every {@code coarse-stride}-th
+ * point and no cosmetics, and nobody further out gets anything. Players who chose reduced FX
+ * always get the coarse version. An effect nobody can see costs no budget at all. Viewer sets
+ * are kept for the rest of the tick, so calls that share an origin look them up once.
+ *
+ * Effects are emitted from event handlers on whichever thread owns the caster, while the drain
+ * runs on the repeat-task thread and deferred sends on the thread owning their origin, so all
+ * of it runs under {@link #lock}. {@link #begin} takes it and {@link #end} releases it, which
+ * keeps one effect's points together.
+ */
+public final class TideFx {
+
+    public enum Priority { CORE, NORMAL, COSMETIC }
+
+    // Defaults (overridable in config.yml under "fx")
+    private static final int    PARTICLES_PER_TICK       = 6000;
+    private static final int    PARTICLES_PER_WORLD_TICK = 4000;
+    private static final int    SOUNDS_PER_TICK          = 512;
+    private static final int    SOUNDS_PER_WORLD_TICK    = 384;
+    private static final double COSMETIC_SHARE           = 0.75;
+    private static final int    MAX_DEFER_TICKS          = 10;
+    private static final int    MAX_QUEUED               = 8192;
+    private static final double FULL_DISTANCE            = 16.0;
+    private static final double VIEW_DISTANCE            = 32.0; // vanilla particle range
+    private static final int    COARSE_STRIDE            = 4;
+    private static final double SOUND_RANGE_PER_VOLUME   = 16.0;
+    private static final int    SCOPE_LOOKBACK           = 8;
+
+    private final TideScheduler scheduler;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int particlesPerTick;
+    private int particlesPerWorldTick;
+    private int soundsPerTick;
+    private int soundsPerWorldTick;
+    private double cosmeticShare;
+    private int maxDeferTicks;
+    private double fullDistSq;
+    private double viewDistSq;
+    private int coarseStride;
+
+    // Players who asked for reduced FX (/tide fx reduced); persisted in their PDC
+    private final NamespacedKey reducedKey;
+    private final Set<UUID> reduced = ConcurrentHashMap.newKeySet();
+
+    // Per-world player snapshot, rebuilt on first use each tick
+    private final Map<UUID, Viewers> viewers = new HashMap<>();
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    // Effect opened by begin(); points are numbered for the coarse stride
+    private Scope scope;
+    private int scopeIndex;
+
+    // Viewer sets handed out this tick; the objects are reused on later ticks
+    private Scope[] scopes = new Scope[16];
+    private int scopesUsed;
+
+    private final Map<UUID, Budget> worlds = new HashMap<>();
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+    private int particlesUsed;
+    private int soundsUsed;
+    private long tick;
+
+    private long dropped;
+    private long deferred;
+    private long packets;
+    private long culled;
+
+    private TideScheduler.Task task;
+
+    public TideFx(TideWielderPlugin plugin) {
+        this.scheduler = plugin.getTideScheduler();
+        this.reducedKey = new NamespacedKey(plugin, "tidewielder_fx_reduced");
+        configure(plugin.getConfig().getConfigurationSection("fx"));
+        this.task = scheduler.repeat(this::tick, 1L, 1L);
+    }
+
+    public void configure(ConfigurationSection sec) {
+        lock.lock();
+        try {
+            apply(sec);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(ConfigurationSection sec) {
+        particlesPerTick      = sec == null ? PARTICLES_PER_TICK       : sec.getInt("particles-per-tick", PARTICLES_PER_TICK);
+        particlesPerWorldTick = sec == null ? PARTICLES_PER_WORLD_TICK : sec.getInt("particles-per-world-tick", PARTICLES_PER_WORLD_TICK);
+        soundsPerTick         = sec == null ? SOUNDS_PER_TICK          : sec.getInt("sounds-per-tick", SOUNDS_PER_TICK);
+        soundsPerWorldTick    = sec == null ? SOUNDS_PER_WORLD_TICK    : sec.getInt("sounds-per-world-tick", SOUNDS_PER_WORLD_TICK);
+        cosmeticShare         = sec == null ? COSMETIC_SHARE           : sec.getDouble("cosmetic-share", COSMETIC_SHARE);
+        maxDeferTicks         = sec == null ? MAX_DEFER_TICKS          : sec.getInt("max-defer-ticks", MAX_DEFER_TICKS);
+        double full           = sec == null ? FULL_DISTANCE            : sec.getDouble("full-distance", FULL_DISTANCE);
+        double view           = sec == null ? VIEW_DISTANCE            : sec.getDouble("view-distance", VIEW_DISTANCE);
+        coarseStride          = Math.max(1, sec == null ? COARSE_STRIDE : sec.getInt("coarse-stride", COARSE_STRIDE));
+        fullDistSq = full * full;
+        viewDistSq = view * view;
+    }
+
+    public void shutdown() {
+        if (task != null) {
+            try { task.cancel(); } catch (Throwable ignored) {}
+            task = null;
+        }
+        lock.lock();
+        try {
+            queue.clear();
+            worlds.clear();
+            viewers.clear();
+            reduced.clear();
+            scope = null;
+            Arrays.fill(scopes, null);
+            scopesUsed = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long dropped() { return dropped; }
+    public long deferred() { return deferred; }
+    public int queued() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    public long packets() { return packets; }
+    public long culled() { return culled; }
+
+    // ------------------------------------------------------------
+    // Reduced-FX preference
+    // ------------------------------------------------------------
+
+    /** Reads the player's FX preference from their PDC (join). */
+    public void load(Player p) {
+        Integer v = p.getPersistentDataContainer().get(reducedKey, PersistentDataType.INTEGER);
+        if (v != null && v == 1) reduced.add(p.getUniqueId());
+        else reduced.remove(p.getUniqueId());
+    }
+
+    public void forget(UUID id) {
+        reduced.remove(id);
+    }
+
+    public boolean isReduced(Player p) {
+        return reduced.contains(p.getUniqueId());
+    }
+
+    public void setReduced(Player p, boolean on) {
+        p.getPersistentDataContainer().set(reducedKey, PersistentDataType.INTEGER, on ? 1 : 0);
+        if (on) reduced.add(p.getUniqueId());
+        else reduced.remove(p.getUniqueId());
+    }
+
+    // ------------------------------------------------------------
+    // Effects
+    // ------------------------------------------------------------
+
+    /**
+     * Opens an effect at (x, y, z): viewers are looked up once, and every particle until
+     * {@link #end()} goes to that viewer set, numbered for the coarse stride.
+     */
+    void begin(World w, double x, double y, double z) {
+        lock.lock();
+        try {
+            scope = scope(w, x, y, z);
+            scopeIndex = 0;
+        } catch (RuntimeException e) {
+            lock.unlock();
+            throw e;
+        }
+    }
+
+    void end() {
+        scope = null;
+        lock.unlock();
+    }
+
+    // ------------------------------------------------------------
+    // Emission
+    // ------------------------------------------------------------
+
+    public void particle(World w, Priority pr, Particle particle, double x, double y, double z,
+                         int count, double dx, double dy, double dz, double extra) {
+        lock.lock();
+        try {
+            emitParticle(w, pr, particle, x, y, z, count, dx, dy, dz, extra);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void emitParticle(World w, Priority pr, Particle particle, double x, double y, double z,
+                              int count, double dx, double dy, double dz, double extra) {
+        Scope sc = scope;
+        int index = 0;
+        if (sc != null) index = scopeIndex++;
+        else sc = scope(w, x, y, z);
+        if (sc.count == 0) return; // nobody in range
+
+        Budget b = budget(w);
+        if (fits(b.particles, particlesUsed, particlesPerWorldTick, particlesPerTick, sc.count, pr)) {
+            int sent = sendParticle(sc, index, pr, particle, x, y, z, count, dx, dy, dz, extra);
+            b.particles += sent;
+            particlesUsed += sent;
+            return;
+        }
+        if (pr == Priority.COSMETIC || queue.size() >= MAX_QUEUED) {
+            dropped++;
+            TideMetrics.fxDropped();
+            return;
+        }
+        deferred++;
+        queue.addLast(new Pending(tick, w, sc.rangeSq, index, particle, x, y, z, count, dx, dy, dz, extra, null, 0f, 0f));
+    }
+
+    public void particle(Location l, Priority pr, Particle particle,
+                         int count, double dx, double dy, double dz, double extra) {
+        particle(l.getWorld(), pr, particle, l.getX(), l.getY(), l.getZ(), count, dx, dy, dz, extra);
+    }
+
+    public void sound(Location l, Priority pr, Sound sound, float volume, float pitch) {
+        lock.lock();
+        try {
+            emitSound(l, pr, sound, volume, pitch);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void emitSound(Location l, Priority pr, Sound sound, float volume, float pitch) {
+        World w = l.getWorld();
+        double range = Math.max(1.0f, volume) * SOUND_RANGE_PER_VOLUME;
+        Scope sc = scope(w, l.getX(), l.getY(), l.getZ(), range * range);
+        if (sc.count == 0) return;
+
+        Budget b = budget(w);
+        if (fits(b.sounds, soundsUsed, soundsPerWorldTick, soundsPerTick, sc.count, pr)) {
+            int sent = sendSound(sc, pr, l, sound, volume, pitch);
+            b.sounds += sent;
+            soundsUsed += sent;
+            TideMetrics.sound();
+            return;
+        }
+        if (pr == Priority.COSMETIC || queue.size() >= MAX_QUEUED) {
+            dropped++;
+            TideMetrics.fxDropped();
+            return;
+        }
+        deferred++;
+        queue.addLast(new Pending(tick, w, sc.rangeSq, 0, null, l.getX(), l.getY(), l.getZ(), 0, 0, 0, 0, 0, sound, volume, pitch));
+    }
+
+    // ------------------------------------------------------------
+    // Tick
+    // ------------------------------------------------------------
+
+    private void tick() {
+        lock.lock();
+        try {
+            drain();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drain() {
+        tick++;
+        particlesUsed = 0;
+        soundsUsed = 0;
+        scopesUsed = 0;
+        for (Budget b : worlds.values()) {
+            b.particles = 0;
+            b.sounds = 0;
+        }
+
+        // Drain deferred work in order; stale entries are not worth sending any more. One packet
+        // per viewer in range now is charged here, since send() may run on another thread
+        while (!queue.isEmpty()) {
+            Pending pd = queue.peekFirst();
+            if (tick - pd.tick > maxDeferTicks) {
+                queue.pollFirst();
+                dropped++;
+                TideMetrics.fxDropped();
+                continue;
+            }
+            Budget b = budget(pd.world);
+            int need = scope(pd.world, pd.x, pd.y, pd.z, pd.rangeSq).count;
+            if (pd.sound != null) {
+                if (!fits(b.sounds, soundsUsed, soundsPerWorldTick, soundsPerTick, need, Priority.NORMAL)) break;
+                b.sounds += need;
+                soundsUsed += need;
+            } else {
+                if (!fits(b.particles, particlesUsed, particlesPerWorldTick, particlesPerTick, need, Priority.NORMAL)) break;
+                b.particles += need;
+                particlesUsed += need;
+            }
+            queue.pollFirst();
+            // Deferred FX may sit in a region this thread does not own
+            if (scheduler.owns(pd.world, pd.x, pd.z)) send(pd);
+            else scheduler.run(pd.world, pd.x, pd.z, () -> send(pd));
+        }
+    }
+
+    /** Sends a deferred entry to whoever is in range now; its packets were charged by tick(). */
+    private void send(Pending pd) {
+        lock.lock();
+        try {
+            Scope sc = scope(pd.world, pd.x, pd.y, pd.z, pd.rangeSq);
+            if (pd.sound != null) {
+                sendSound(sc, Priority.NORMAL, new Location(pd.world, pd.x, pd.y, pd.z), pd.sound, pd.volume, pd.pitch);
+                TideMetrics.sound();
+            } else {
+                sendParticle(sc, pd.index, Priority.NORMAL, pd.particle, pd.x, pd.y, pd.z,
+                        pd.count, pd.dx, pd.dy, pd.dz, pd.extra);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Viewers
+    // ------------------------------------------------------------
+
+    /** Returns the number of packets sent. */
+    private int sendParticle(Scope sc, int index, Priority pr, Particle particle, double x, double y, double z,
+                              int count, double dx, double dy, double dz, double extra) {
+        // Coarse viewers get every coarseStride-th point (CORE always) and no cosmetics
+        boolean coarseSkip = pr == Priority.COSMETIC || (pr != Priority.CORE && index % coarseStride != 0);
+        int coarseCount = Math.max(1, count / coarseStride);
+        int sent = 0, skipped = 0, particles = 0;
+        for (int v = 0; v < sc.count; v++) {
+            Player p = sc.players[v];
+            if (!p.isOnline()) continue;
+            if (sc.coarse[v]) {
+                if (coarseSkip) {
+                    skipped++;
+                    continue;
+                }
+                p.spawnParticle(particle, x, y, z, coarseCount, dx, dy, dz, extra);
+                particles += coarseCount;
+            } else {
+                p.spawnParticle(particle, x, y, z, count, dx, dy, dz, extra);
+                particles += count;
+            }
+            sent++;
+        }
+        packets += sent;
+        culled += skipped;
+        TideMetrics.fxPackets(sent, skipped);
+        TideMetrics.particles(particles);
+        return sent;
+    }
+
+    private int sendSound(Scope sc, Priority pr, Location l, Sound sound, float volume, float pitch) {
+        int sent = 0, skipped = 0;
+        for (int v = 0; v < sc.count; v++) {
+            Player p = sc.players[v];
+            if (!p.isOnline()) continue;
+            if (sc.coarse[v] && pr == Priority.COSMETIC) {
+                skipped++;
+                continue;
+            }
+            p.playSound(l, sound, volume, pitch);
+            sent++;
+        }
+        packets += sent;
+        culled += skipped;
+        TideMetrics.fxPackets(sent, skipped);
+        return sent;
+    }
+
+    private Scope scope(World w, double x, double y, double z) {
+        return scope(w, x, y, z, viewDistSq);
+    }
+
+    /**
+     * Viewers within {@code rangeSq} of (x, y, z), each tagged full or coarse. A cast emits
+     * several sounds and shapes from one spot, so the newest few sets of this tick are checked
+     * for the same origin before the snapshot is scanned again.
+     */
+    private Scope scope(World w, double x, double y, double z, double rangeSq) {
+        for (int i = scopesUsed - 1, stop = Math.max(0, scopesUsed - SCOPE_LOOKBACK); i >= stop; i--) {
+            Scope sc = scopes[i];
+            if (sc.world == w && sc.x == x && sc.y == y && sc.z == z && sc.rangeSq == rangeSq) return sc;
+        }
+
+        Viewers vs = viewers(w);
+        if (scopesUsed == scopes.length) scopes = Arrays.copyOf(scopes, scopesUsed * 2);
+        Scope sc = scopes[scopesUsed];
+        if (sc == null) sc = scopes[scopesUsed] = new Scope();
+        scopesUsed++;
+        sc.reset(w, x, y, z, rangeSq, vs.count);
+        for (int i = 0; i < vs.count; i++) {
+            double ex = vs.x[i] - x, ey = vs.y[i] - y, ez = vs.z[i] - z;
+            double d = ex * ex + ey * ey + ez * ez;
+            if (d > rangeSq) continue;
+            Player p = vs.players[i];
+            sc.players[sc.count] = p;
+            sc.coarse[sc.count] = d > fullDistSq || reduced.contains(p.getUniqueId());
+            sc.count++;
+        }
+        return sc;
+    }
+
+    private Viewers viewers(World w) {
+        Viewers vs = viewers.computeIfAbsent(w.getUID(), id -> new Viewers());
+        if (vs.tick == tick) return vs;
+        vs.tick = tick;
+        List<Player> list = w.getPlayers();
+        int n = list.size();
+        if (vs.players.length < n) {
+            int cap = Math.max(n, vs.players.length * 2);
+            vs.players = new Player[cap];
+            vs.x = new double[cap];
+            vs.y = new double[cap];
+            vs.z = new double[cap];
+        }
+        for (int i = 0; i < n; i++) {
+            Player p = list.get(i);
+            p.getLocation(scratch);
+            vs.players[i] = p;
+            vs.x[i] = scratch.getX();
+            vs.y[i] = scratch.getY();
+            vs.z[i] = scratch.getZ();
+        }
+        if (n < vs.count) Arrays.fill(vs.players, n, vs.count, null);
+        vs.count = n;
+        return vs;
+    }
+
+    /**
+     * Whether {@code need} more packets (one per viewer) stay within both caps. A crowd bigger
+     * than a whole cap only has to find that cap unused, so it can still go out on a quiet tick.
+     */
+    private boolean fits(int worldUsed, int globalUsed, int worldCap, int globalCap, int need, Priority pr) {
+        if (pr == Priority.CORE) return true;
+        if (pr == Priority.COSMETIC) {
+            worldCap = (int) (worldCap * cosmeticShare);
+            globalCap = (int) (globalCap * cosmeticShare);
+        }
+        return room(worldUsed, worldCap, need) && room(globalUsed, globalCap, need);
+    }
+
+    private static boolean room(int used, int cap, int need) {
+        return used + Math.max(1, Math.min(need, cap)) <= cap;
+    }
+
+    private Budget budget(World w) {
+        return worlds.computeIfAbsent(w.getUID(), id -> new Budget());
+    }
+
+    private static final class Budget {
+        int particles;
+        int sounds;
+    }
+
+    /** Players of one world with their positions, taken once per tick. */
+    private static final class Viewers {
+        long tick = -1L;
+        int count;
+        Player[] players = new Player[16];
+        double[] x = new double[16];
+        double[] y = new double[16];
+        double[] z = new double[16];
+    }
+
+    /** Viewer set of one origin, valid for the tick it was taken in. */
+    private static final class Scope {
+        World world;
+        double x, y, z, rangeSq;
+        Player[] players = new Player[16];
+        boolean[] coarse = new boolean[16];
+        int count;
+
+        void reset(World w, double x, double y, double z, double rangeSq, int max) {
+            this.world = w;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.rangeSq = rangeSq;
+            if (players.length < max) {
+                players = new Player[max];
+                coarse = new boolean[max];
+            } else {
+                Arrays.fill(players, 0, count, null);
+            }
+            count = 0;
+        }
+    }
+
+    private record Pending(long tick, World world, double rangeSq, int index, Particle particle, double x, double y, double z,
+                           int count, double dx, double dy, double dz, double extra,
+                           Sound sound, float volume, float pitch) {}
+}
@@ -0,0 +1,51 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/** {@link TideScheduler} for a single-threaded server: everything is owned by the main thread. */
+final class TideMainScheduler implements TideScheduler {
+
+    private final Plugin plugin;
+
+    TideMainScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public Task repeat(Runnable task, long delayTicks, long periodTicks) {
+        BukkitTask t = Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks);
+        return t::cancel;
+    }
+
+    @Override
+    public Task repeatAsync(Runnable task, long delayTicks, long periodTicks) {
+        BukkitTask t = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, task, delayTicks, periodTicks);
+        return t::cancel;
+    }
+
+    @Override
+    public boolean owns(Entity e) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public boolean owns(World w, double x, double z) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public void run(Entity e, Runnable task) {
+        if (Bukkit.isPrimaryThread()) task.run();
+        else Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public void run(World w, double x, double z, Runnable task) {
+        if (Bukkit.isPrimaryThread()) task.run();
+        else Bukkit.getScheduler().runTask(plugin, task);
+    }
+}
@@ -1,17 +1,16 @@
 package com.stellinova.tidewielder;
 
 import com.example.evo.api.IEvoService;
-import net.md_5.bungee.api.ChatMessageType;
-import net.md_5.bungee.api.chat.TextComponent;
+import com.stellinova.tidewielder.TideActionBar.Level;
+import com.stellinova.tidewielder.TideFx.Priority;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
 import org.bukkit.World;
 import org.bukkit.boss.BarColor;
-import org.bukkit.boss.BarStyle;
-import org.bukkit.boss.BossBar;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -24,14 +23,13 @@ import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerSwapHandItemsEvent;
 import org.bukkit.event.player.PlayerToggleSneakEvent;
+import org.bukkit.event.server.ServiceRegisterEvent;
+import org.bukkit.event.server.ServiceUnregisterEvent;
+import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -52,43 +50,38 @@ public class TideManager implements Listener {
     private final TideWielderPlugin plugin;
     private final IEvoService evo; // nullable
 
-    private final Map<UUID, TidePlayerData> data = new HashMap<>();
-    private final Map<UUID, BossBar> bars = new HashMap<>();
-    private final Map<UUID, LastCooldown> lastCooldown = new HashMap<>();
+    // All per-player state (cooldowns, echo, Typhoon, input, bossbar, flow, active set) by slot
+    private final TideStateStore store = new TideStateStore();
 
-    // Passive flow tracking (legacy, kept for minimal change)
-    private final Map<UUID, FlowState> flows = new HashMap<>();
+    // Ability tuning per Evo level, compiled from config; swapped whole by reload()
+    private volatile TideSpecs specs;
 
-    // Passive: Tide Echo
-    private static final long TIDE_ECHO_DURATION_MS = 4000L;
-    private final Map<UUID, EchoState> echoes = new HashMap<>();
+    // TickTask tick counter; input deadlines are expressed in it
+    private volatile long tick;
+    private volatile long tickMillis;
 
-    // F-tap state (for Surge / Bubble / Maelstrom / Typhoon)
-    private final Map<UUID, FTapState> fTaps = new HashMap<>();
+    // How long an offline player's slot (and so their cooldowns) is kept before eviction
+    private static final long STATE_GRACE_MS_DEFAULT = 300_000L;
+    private final long stateGraceMs;
+    private long evictions;
 
-    // Sneak state (for Tidepool quick tap)
-    private final Map<UUID, SneakState> sneaks = new HashMap<>();
+    // Cooldowns / effects persisted in the player's PDC as one TideStateCodec blob
+    private final NamespacedKey stateKey;
+    private final long flushEveryTicks;
+    private final int flushBatch;
+    private boolean flushing;
 
-    private BukkitTask tickTask;
+    private final TideFx fx;
+    private final TideTargets targets = new TideTargets();
+    private final TideTimers timers = new TideTimers();
+    private final TideCooldownBars cooldownBars = new TideCooldownBars(store);
+    private final TideActionBar actionBar = new TideActionBar(store);
+    private final TideCastPipeline casts;
 
-    // Cooldowns (ms) — slightly longer to reduce spam
-    private static final long MAELSTROM_CD_BASE = 15_000L;
-    private static final long BUBBLE_CD_BASE    = 20_000L;
-    private static final long TIDEPOOL_CD_BASE  = 15_000L;
-    private static final long SURGE_CD_BASE     = 12_000L;
-    private static final long TYPHOON_CD_BASE   = 160_000L;
+    private final TideScheduler scheduler;
+    private TideScheduler.Task tickTask;
 
-    // Typhoon timings
-    private static final long TYPHOON_DURATION_BASE = 4_000L;
-    private static final long TYPHOON_TICK_MS       = 350L;
-
-    // Geometry
-    private static final double MAELSTROM_RADIUS = 6.0;
-    private static final double SURGE_RADIUS     = 10.0;
-    private static final double SURGE_FORCE      = 0.8;
-
-    // Evo CDR factors
-    private static final double[] CDR = {1.00, 0.90, 0.75, 0.55};
+    private static final String TYPHOON_AB_PREFIX = ChatColor.AQUA + "Typhoon: " + ChatColor.WHITE;
 
     // Tidal Momentum tuning (legacy)
     private static final double FLOW_GAIN_PER_BLOCK   = 0.45;
@@ -106,12 +99,81 @@ public class TideManager implements Listener {
     public TideManager(TideWielderPlugin plugin, IEvoService evo) {
         this.plugin = plugin;
         this.evo = evo;
+        this.scheduler = plugin.getTideScheduler();
+        this.fx = new TideFx(plugin);
+        this.specs = TideSpecs.load(plugin.getConfig().getConfigurationSection("abilities"));
+        this.stateGraceMs = Math.max(0L, plugin.getConfig().getLong("state.grace-seconds", STATE_GRACE_MS_DEFAULT / 1000L)) * 1000L;
+        this.stateKey = new NamespacedKey(plugin, "tidewielder_state");
+        this.flushEveryTicks = Math.max(1L, plugin.getConfig().getLong("state.flush-seconds", 30L) * 20L);
+        this.flushBatch = Math.max(1, plugin.getConfig().getInt("state.flush-batch", 32));
+        this.casts = new TideCastPipeline(scheduler, plugin.getLogger(), plugin.getConfig().getBoolean("casts.offload", true));
         Bukkit.getPluginManager().registerEvents(this, plugin);
-        this.tickTask = new TickTask().runTaskTimer(plugin, 1L, 1L);
+        this.tickTask = scheduler.repeat(new TickTask(), 1L, 1L);
+
+        // Players already online (plugin reload) never see a join event
+        synchronized (store) {
+            for (Player p : Bukkit.getOnlinePlayers()) {
+                loadState(p, store.slot(p));
+                warmAccess(p);
+                fx.load(p);
+            }
+        }
     }
 
     public TidePlayerData data(Player p) {
-        return data.computeIfAbsent(p.getUniqueId(), k -> new TidePlayerData(p.getUniqueId()));
+        synchronized (store) {
+            return store.view(store.slot(p));
+        }
+    }
+
+    public TideFx fx() {
+        return fx;
+    }
+
+    TideSpecs specs() {
+        return specs;
+    }
+
+    /**
+     * Re-reads ability specs and FX budgets from the (already reloaded) config. The new spec set
+     * replaces the old one in a single write; cooldowns and running effects are absolute
+     * timestamps and carry over untouched.
+     */
+    public void reload() {
+        TideSpecs next = TideSpecs.load(plugin.getConfig().getConfigurationSection("abilities"));
+        fx.configure(plugin.getConfig().getConfigurationSection("fx"));
+        specs = next;
+    }
+
+    /** TickTask tick counter; readers may use it to memoize per tick. */
+    public long currentTick() {
+        return tick;
+    }
+
+    /** Wall clock sampled at the start of the current tick. */
+    public long tickMillis() {
+        long t = tickMillis;
+        return t != 0L ? t : System.currentTimeMillis();
+    }
+
+    TideStateStore state() {
+        return store;
+    }
+
+    TideCooldownBars cooldownBars() {
+        return cooldownBars;
+    }
+
+    int castsPending() {
+        return casts.pending();
+    }
+
+    int timersPending() {
+        return timers.pending();
+    }
+
+    long evictions() {
+        return evictions;
     }
 
     public void shutdown() {
@@ -119,46 +181,75 @@ public class TideManager implements Listener {
             try { tickTask.cancel(); } catch (Throwable ignored) {}
             tickTask = null;
         }
-        for (BossBar b : bars.values()) {
-            try { b.setVisible(false); b.removeAll(); } catch (Throwable ignored) {}
-        }
-        bars.clear();
-        lastCooldown.clear();
-        flows.clear();
-        echoes.clear();
-        fTaps.clear();
-        sneaks.clear();
         HandlerList.unregisterAll(this);
+        synchronized (store) {
+            flushDirty(Integer.MAX_VALUE);
+            casts.shutdown();
+            fx.shutdown();
+            targets.clear();
+            timers.clear();
+            cooldownBars.shutdown();
+            store.clear();
+        }
     }
 
     // ------------------------------------------------------------
     // Events
     // ------------------------------------------------------------
+    //
+    // On Folia these fire on the region thread that owns the player while the tick runs on the
+    // global region thread, so each handler holds the store's monitor for its state changes.
 
     @EventHandler
     public void onJoin(PlayerJoinEvent e) {
         Player p = e.getPlayer();
-        data(p);
-        warmAccess(p);
-        clearAB(p);
+        synchronized (store) {
+            loadState(p, store.slot(p));
+            warmAccess(p);
+            fx.load(p);
+            clearAB(p);
+        }
     }
 
     @EventHandler
     public void onQuit(PlayerQuitEvent e) {
         Player p = e.getPlayer();
-        clearAB(p);
-        flows.remove(p.getUniqueId());
-        echoes.remove(p.getUniqueId());
-        FTapState ft = fTaps.remove(p.getUniqueId());
-        if (ft != null && ft.pending != null) {
-            try { ft.pending.cancel(); } catch (Throwable ignored) {}
-        }
-        SneakState ss = sneaks.remove(p.getUniqueId());
-        if (ss != null && ss.pending != null) {
-            try { ss.pending.cancel(); } catch (Throwable ignored) {}
+        UUID id = p.getUniqueId();
+        TideEvoBridge.invalidate(id);
+        TideAccessBridge.forget(id);
+        fx.forget(id);
+        synchronized (store) {
+            int s = store.find(id);
+            if (s < 0) return;
+            if (store.dirty[s]) flushState(p, s, System.currentTimeMillis());
+
+            cooldownBars.clear(s);
+            actionBar.drop(s);
+            clearFlow(s);
+            store.echoUntil[s] = 0L;
+            dropInput(s);
+
+            // Cooldowns stay in the slot so a quick relog does not reset them; the slot is freed
+            // once the grace period (or the longest running cooldown) has passed
+            long now = System.currentTimeMillis();
+            store.detach(s, now);
+            long stamp = store.detachedAt[s];
+            long at = Math.max(now + stateGraceMs, store.lastReadyAt(s));
+            timers.scheduleAt(at, now, () -> evict(id, stamp));
         }
     }
 
+    // EvoCore can register its service after we enable; the bridge keeps its probe result until then
+    @EventHandler
+    public void onServiceRegister(ServiceRegisterEvent e) {
+        TideEvoBridge.rehook();
+    }
+
+    @EventHandler
+    public void onServiceUnregister(ServiceUnregisterEvent e) {
+        TideEvoBridge.unhook(e.getProvider().getProvider());
+    }
+
     /**
      * F input: tap / double-tap, with sneak as modifier.
      *
@@ -175,55 +266,37 @@ public class TideManager implements Listener {
         // Prevent actual item swap when using Tide
         e.setCancelled(true);
 
-        UUID id = p.getUniqueId();
         long now = System.currentTimeMillis();
 
-        FTapState state = fTaps.computeIfAbsent(id, k -> new FTapState());
-        // Cancel any pending single-tap cast, we'll reschedule or double-tap
-        if (state.pending != null) {
-            try { state.pending.cancel(); } catch (Throwable ignored) {}
-            state.pending = null;
-        }
-
-        if (state.firstTapAt > 0L && (now - state.firstTapAt) <= F_TAP_WINDOW_MS) {
-            // Double-tap detected
-            boolean sneakEither = p.isSneaking() || state.firstTapSneak;
+        TideStateStore st = store;
+        synchronized (st) {
+            int s = st.slot(p);
+            // Any pending single tap is superseded: either this is the double, or a new first tap
+            st.fTapDeadline[s] = 0L;
+
+            if (st.firstTapAt[s] > 0L && (now - st.firstTapAt[s]) <= F_TAP_WINDOW_MS) {
+                // Double-tap detected
+                boolean sneakEither = p.isSneaking() || st.firstTapSneak[s];
+
+                if (sneakEither) {
+                    // Sneak + double-tap -> Typhoon (if Evo 3)
+                    cast(p, TideAbility.TYPHOON);
+                } else {
+                    // Normal double-tap -> Maelstrom
+                    cast(p, TideAbility.MAELSTROM);
+                }
 
-            if (sneakEither) {
-                // Sneak + double-tap -> Typhoon (if Evo 3)
-                triggerTyphoon(p);
-            } else {
-                // Normal double-tap -> Maelstrom
-                triggerMaelstrom(p);
+                st.firstTapAt[s] = 0L;
+                st.firstTapSneak[s] = false;
+                return;
             }
 
-            state.firstTapAt = 0L;
-            state.firstTapSneak = false;
-            state.pending = null;
-            return;
+            // First tap of a possible single — resolved by the tick once the window passes
+            st.firstTapAt[s] = now;
+            st.firstTapSneak[s] = p.isSneaking();
+            st.fTapDeadline[s] = tick + F_TAP_WINDOW_TICKS;
+            st.queueInput(s);
         }
-
-        // First tap of a possible single
-        state.firstTapAt = now;
-        state.firstTapSneak = p.isSneaking();
-
-        // Schedule single-tap resolution after a short window
-        state.pending = new BukkitRunnable() {
-            @Override
-            public void run() {
-                // If still same tap (no second tap intervened)
-                if (state.firstTapAt == now) {
-                    if (state.firstTapSneak) {
-                        triggerBubble(p);
-                    } else {
-                        triggerSurge(p);
-                    }
-                    state.firstTapAt = 0L;
-                    state.firstTapSneak = false;
-                    state.pending = null;
-                }
-            }
-        }.runTaskLater(plugin, F_TAP_WINDOW_TICKS);
     }
 
     /**
@@ -237,49 +310,38 @@ public class TideManager implements Listener {
         Player p = e.getPlayer();
         if (!TideAccessBridge.canUseTide(p)) return;
 
-        UUID id = p.getUniqueId();
-        SneakState ss = sneaks.computeIfAbsent(id, k -> new SneakState());
-
         if (e.isSneaking()) {
-            // Start of a potential quick tap
-            if (ss.pending != null) {
-                try { ss.pending.cancel(); } catch (Throwable ignored) {}
-                ss.pending = null;
+            // Start of a potential quick tap; a new press restarts the window
+            synchronized (store) {
+                int s = store.slot(p);
+                store.sneakDeadline[s] = tick + SNEAK_TAP_TICKS;
+                store.queueInput(s);
             }
-
-            ss.sneakDownAt = System.currentTimeMillis();
-
-            ss.pending = new BukkitRunnable() {
-                @Override
-                public void run() {
-                    ss.pending = null;
-                    // Quick tap detection: if player is no longer sneaking, treat it as a tap
-                    if (!p.isSneaking()) {
-                        // Ground tap only (like Gale Pull)
-                        if (p.isOnGround()) {
-                            triggerTidepool(p);
-                        }
-                    }
-                }
-            }.runTaskLater(plugin, SNEAK_TAP_TICKS);
         } else {
-            // Sneak released; quick tap is resolved by pending task
+            // Sneak released; quick tap is resolved by the tick at the deadline
         }
     }
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
     public void onHit(EntityDamageByEntityEvent e) {
+        // Our own damage (Typhoon pulses) is not a hit
+        if (TideDamage.internal()) return;
         if (!(e.getDamager() instanceof Player p)) return;
         if (!TideAccessBridge.canUseTide(p)) return;
 
-        TidePlayerData d = data(p);
+        int s = store.find(p.getUniqueId());
+        if (s < 0) return;
         long now = System.currentTimeMillis();
-        if (d.isInTyphoon() && now <= d.getTyphoonActiveUntil()) {
+        boolean typhoon;
+        synchronized (store) {
+            typhoon = store.inTyphoon[s] && now <= store.typhoonUntil[s];
+        }
+        if (typhoon) {
             Entity target = e.getEntity();
             Location c = target.getLocation().add(0, 1.0, 0);
-            c.getWorld().spawnParticle(Particle.SPLASH, c, 18, 0.4, 0.5, 0.4, 0.02);
-            c.getWorld().spawnParticle(Particle.CLOUD, c, 8, 0.3, 0.4, 0.3, 0.01);
-            c.getWorld().playSound(c, Sound.WEATHER_RAIN_ABOVE, 0.8f, 1.4f);
+            fx.particle(c, Priority.COSMETIC, Particle.SPLASH, 18, 0.4, 0.5, 0.4, 0.02);
+            fx.particle(c, Priority.COSMETIC, Particle.CLOUD, 8, 0.3, 0.4, 0.3, 0.01);
+            fx.sound(c, Priority.COSMETIC, Sound.WEATHER_RAIN_ABOVE, 0.8f, 1.4f);
 
             if (target instanceof LivingEntity le) {
                 // Add bonus damage without starting a new damage event (prevents recursion)
@@ -299,22 +361,17 @@ public class TideManager implements Listener {
 
     public void onRuneRevoked(Player p) {
         try {
-            BossBar b = bars.remove(p.getUniqueId());
-            if (b != null) b.removeAll();
-            lastCooldown.remove(p.getUniqueId());
-            flows.remove(p.getUniqueId());
-            echoes.remove(p.getUniqueId());
-
-            FTapState ft = fTaps.remove(p.getUniqueId());
-            if (ft != null && ft.pending != null) {
-                try { ft.pending.cancel(); } catch (Throwable ignored) {}
-            }
-            SneakState ss = sneaks.remove(p.getUniqueId());
-            if (ss != null && ss.pending != null) {
-                try { ss.pending.cancel(); } catch (Throwable ignored) {}
-            }
+            synchronized (store) {
+                int s = store.find(p.getUniqueId());
+                if (s >= 0) {
+                    cooldownBars.clear(s);
+                    store.echoUntil[s] = 0L;
+                    clearFlow(s);
+                    dropInput(s);
+                }
 
-            clearAB(p);
+                clearAB(p);
+            }
         } catch (Throwable ignored) {}
     }
 
@@ -326,10 +383,39 @@ public class TideManager implements Listener {
         try { TideAccessBridge.warm(p); } catch (Throwable ignored) {}
     }
 
+    /**
+     * Runs {@code work} for {@code p} on the thread that owns the player: inline when that is
+     * this one, otherwise handed over, re-taking the store's monitor there.
+     */
+    private void onOwner(Player p, Runnable work) {
+        if (scheduler.owns(p)) {
+            work.run();
+            return;
+        }
+        scheduler.run(p, () -> {
+            synchronized (store) {
+                if (p.isOnline()) work.run();
+            }
+        });
+    }
+
     // ------------------------------------------------------------
     // Abilities (with optimized FX) + Tide Echo + hunger usage
     // ------------------------------------------------------------
 
+    /** Runs one cast from player input, timed for /tide perf. */
+    private void cast(Player p, TideAbility a) {
+        long t0 = TidePerf.start();
+        switch (a) {
+            case MAELSTROM -> triggerMaelstrom(p);
+            case BUBBLE -> triggerBubble(p);
+            case TIDEPOOL -> triggerTidepool(p);
+            case SURGE -> triggerSurge(p);
+            case TYPHOON -> startTyphoon(p);
+        }
+        TidePerf.stop(TidePerf.cast(a), t0);
+    }
+
     private void consumeHunger(Player p, int amount) {
         if (amount <= 0) return;
         int current = p.getFoodLevel();
@@ -339,126 +425,89 @@ public class TideManager implements Listener {
 
     private void triggerMaelstrom(Player p) {
         long now = System.currentTimeMillis();
-        TidePlayerData d = data(p);
-        if (!checkCd(p, d.getMaelstromReadyAt(), "Maelstrom")) return;
+        int s = store.slot(p);
+        TidePlayerData d = store.view(s);
+        if (!checkCd(p, d.getMaelstromReadyAt(), TideAbility.MAELSTROM)) return;
 
-        consumeHunger(p, 2);
-
-        boolean echo = isEchoActive(p, now);
-        int evoLvl = evoLevel(p);
-        double radius = MAELSTROM_RADIUS * TideEvoBridge.m(p, "maelstrom");
+        boolean echo = isEchoActive(s, now);
+        TideEvoProfile prof = TideEvoBridge.profile(p);
+        TideAbilitySpec spec = specs.get(TideAbility.MAELSTROM, prof.level());
+        consumeHunger(p, spec.hunger());
+        double radius = spec.radius() * prof.maelstrom();
 
         Location c = p.getLocation();
 
         // Core sound
-        c.getWorld().playSound(c, Sound.ITEM_TRIDENT_RIPTIDE_1, 0.9f, 0.6f);
-        c.getWorld().playSound(c, Sound.BLOCK_WATER_AMBIENT, 0.8f, 1.5f);
-
-        // Triple swirling rings around player (optimized points)
-        int rings = 3;
-        int points = 28;
-        for (int r = 0; r < rings; r++) {
-            double ringRadius = (radius * 0.4) + (r * radius * 0.2);
-            double yOffset = 0.5 + 0.4 * r;
-            for (int i = 0; i < points; i++) {
-                double angle = (2 * Math.PI * i / points) + (r * 0.7);
-                double x = Math.cos(angle) * ringRadius;
-                double z = Math.sin(angle) * ringRadius;
-                Location pt = c.clone().add(x, yOffset, z);
-                c.getWorld().spawnParticle(Particle.SPLASH, pt, 1, 0.02, 0.02, 0.02, 0.0);
-                if (evoLvl >= 2 && i % 4 == 0) {
-                    c.getWorld().spawnParticle(Particle.CLOUD, pt, 1, 0.01, 0.01, 0.01, 0.0);
-                }
-            }
+        fx.sound(c, Priority.CORE, Sound.ITEM_TRIDENT_RIPTIDE_1, 0.9f, 0.6f);
+        fx.sound(c, Priority.NORMAL, Sound.BLOCK_WATER_AMBIENT, 0.8f, 1.5f);
+
+        World w = c.getWorld();
+        double cx = c.getX(), cy = c.getY(), cz = c.getZ();
+
+        // Triple swirling rings around player (precomputed, scaled by radius)
+        TideShapes.MAELSTROM_RINGS.emit(fx, w, Priority.NORMAL, Particle.SPLASH, cx, cy, cz, radius, 1, 0.02, 0.02, 0.02, 0.0);
+        if (spec.enhanced()) {
+            TideShapes.MAELSTROM_RINGS.emitAccent(fx, w, Priority.NORMAL, Particle.CLOUD, cx, cy, cz, radius, 1, 0.01, 0.01, 0.01, 0.0);
         }
 
         // Vertical vortex column (sparser)
-        for (double y = 0; y <= 3.0; y += 0.35) {
-            double scale = 0.7 + (y / 3.0);
-            double angle = y * 2.5;
-            double x = Math.cos(angle) * radius * 0.25 * scale;
-            double z = Math.sin(angle) * radius * 0.25 * scale;
-            Location pt = c.clone().add(x, y, z);
-            c.getWorld().spawnParticle(Particle.DRIPPING_WATER, pt, 1, 0.05, 0.05, 0.05, 0.01);
-        }
-
-        // Mechanical effect
-        for (Entity e : p.getWorld().getNearbyEntities(c, radius, radius, radius)) {
-            if (!(e instanceof LivingEntity le) || le == p) continue;
-            Vector dir = safeUnit(c.toVector().subtract(le.getLocation().toVector()));
-            Vector tangent = new Vector(-dir.getZ(), 0, dir.getX());
-            Vector swirl = tangent.multiply(0.4).add(dir.multiply(0.15));
-            le.setVelocity(safeFinite(le.getVelocity().add(swirl)));
-            int amp = (evoLvl >= 2 ? 2 : 1);
-            int dur = 40;
-            if (echo) {
-                amp++;
-                dur += 20;
-            }
-            le.addPotionEffect(new PotionEffect(
-                    PotionEffectType.SLOWNESS,
-                    dur,
-                    amp,
-                    false, true, true
-            ));
+        TideShapes.MAELSTROM_VORTEX.emit(fx, w, Priority.NORMAL, Particle.DRIPPING_WATER, cx, cy, cz, radius, 1, 0.05, 0.05, 0.05, 0.01);
+
+        // Mechanical effect: swirl + slowness, computed off-thread and applied next tick
+        int amp = spec.amplifier();
+        int dur = spec.durationTicks();
+        if (echo) {
+            amp++;
+            dur += spec.echoTicks();
+        }
+        TideCastPipeline.Job job = casts.job(TideAbility.MAELSTROM, TideCastPipeline.Kernel.SWIRL, p, c, 0, 0, 0, 0, 0,
+                new PotionEffect(PotionEffectType.SLOWNESS, dur, amp, false, true, true));
+        for (LivingEntity le : targets.near(c, radius, radius, radius)) {
+            if (le != p) job.add(le);
         }
+        casts.submit(job);
 
-        long cd = cdFromEvo(p, MAELSTROM_CD_BASE);
+        long cd = spec.cooldownMs();
         d.setMaelstromReadyAt(now + cd);
-        showCooldown(p, "Maelstrom", now, now + cd, BarColor.BLUE);
-        sendAB(p, ChatColor.AQUA + "Maelstrom" + ChatColor.WHITE + " cast.");
-        activateEcho(p, now);
+        showCooldown(p, s, TideAbility.MAELSTROM, now, now + cd, BarColor.BLUE);
+        sendAB(p, Level.INFO, ChatColor.AQUA + "Maelstrom" + ChatColor.WHITE + " cast.");
+        activateEcho(p, s, now);
     }
 
     private void triggerBubble(Player p) {
         long now = System.currentTimeMillis();
-        TidePlayerData d = data(p);
-        if (!checkCd(p, d.getBubbleReadyAt(), "Bubble")) return;
-
-        consumeHunger(p, 2);
-
-        boolean echo = isEchoActive(p, now);
-        int evoLvl = evoLevel(p);
-        double radius = 4.0;
+        int s = store.slot(p);
+        TidePlayerData d = store.view(s);
+        if (!checkCd(p, d.getBubbleReadyAt(), TideAbility.BUBBLE)) return;
+
+        boolean echo = isEchoActive(s, now);
+        TideEvoProfile prof = TideEvoBridge.profile(p);
+        int evoLvl = prof.level();
+        TideAbilitySpec spec = specs.get(TideAbility.BUBBLE, evoLvl);
+        consumeHunger(p, spec.hunger());
+        double radius = spec.radius();
         Location c = p.getLocation().add(p.getLocation().getDirection().normalize().multiply(3));
 
         // Sounds
-        c.getWorld().playSound(c, Sound.BLOCK_BUBBLE_COLUMN_WHIRLPOOL_INSIDE, 0.9f, 1.4f);
-        c.getWorld().playSound(c, Sound.BLOCK_BUBBLE_COLUMN_UPWARDS_AMBIENT, 0.7f, 1.2f);
-
-        // Rising spiral of bubbles (optimized steps)
-        int steps = 20;
-        for (int i = 0; i < steps; i++) {
-            double t = i / (double) steps;
-            double y = 0.3 + t * 3.0;
-            double angle = t * Math.PI * 4;
-            double r = 1.2 + (evoLvl * 0.1);
-            double x = Math.cos(angle) * r;
-            double z = Math.sin(angle) * r;
-            Location pt = c.clone().add(x, y, z);
-            c.getWorld().spawnParticle(Particle.BUBBLE_COLUMN_UP, pt, 1, 0.04, 0.04, 0.04, 0.0);
-            if (i % 3 == 0) {
-                c.getWorld().spawnParticle(Particle.SPLASH, pt, 1, 0.03, 0.03, 0.03, 0.0);
-            }
-        }
+        fx.sound(c, Priority.CORE, Sound.BLOCK_BUBBLE_COLUMN_WHIRLPOOL_INSIDE, 0.9f, 1.4f);
+        fx.sound(c, Priority.NORMAL, Sound.BLOCK_BUBBLE_COLUMN_UPWARDS_AMBIENT, 0.7f, 1.2f);
 
-        // Bubble "cage"
-        int ringPoints = 26;
-        for (int i = 0; i < ringPoints; i++) {
-            double angle = 2 * Math.PI * i / ringPoints;
-            double x = Math.cos(angle) * radius;
-            double z = Math.sin(angle) * radius;
-            for (double y = 0.5; y <= 3.0; y += 0.75) {
-                Location pt = c.clone().add(x, y, z);
-                c.getWorld().spawnParticle(Particle.DRIPPING_WATER, pt, 1, 0.02, 0.02, 0.02, 0.01);
-            }
-        }
+        World w = c.getWorld();
+        double cx = c.getX(), cy = c.getY(), cz = c.getZ();
 
-        // Duration: 3–7.5s depending on Evo
-        int durTicks = 60 + (evoLvl * 30); // 0:3s, 1:4.5s, 2:6s, 3:7.5s
+        // Rising spiral of bubbles (precomputed per Evo level)
+        TideShapes.Shape spiral = TideShapes.BUBBLE_SPIRAL[evoLvl];
+        spiral.emit(fx, w, Priority.NORMAL, Particle.BUBBLE_COLUMN_UP, cx, cy, cz, 1.0, 1, 0.04, 0.04, 0.04, 0.0);
+        spiral.emitAccent(fx, w, Priority.NORMAL, Particle.SPLASH, cx, cy, cz, 1.0, 1, 0.03, 0.03, 0.03, 0.0);
+
+        // Bubble "cage", drawn at the capture radius
+        TideShapes.BUBBLE_CAGE.emit(fx, w, Priority.NORMAL, Particle.DRIPPING_WATER, cx, cy, cz, radius, 1, 0.02, 0.02, 0.02, 0.01);
+
+        // Duration: 3–7.5s depending on Evo (by default)
+        int durTicks = spec.durationTicks();
 
         // Caster buff inside prison window: Strength (Evo2+ is stronger)
-        int strAmp = (evoLvl >= 2 ? 1 : 0);
+        int strAmp = spec.amplifier();
         p.addPotionEffect(new PotionEffect(
                 PotionEffectType.STRENGTH,
                 durTicks,
@@ -466,220 +515,182 @@ public class TideManager implements Listener {
                 false, true, true
         ));
 
-        for (Entity e : p.getWorld().getNearbyEntities(c, radius, radius, radius)) {
-            if (!(e instanceof LivingEntity le) || le == p) continue;
-
-            le.addPotionEffect(new PotionEffect(
-                    PotionEffectType.SLOWNESS,
-                    durTicks,
-                    3,
-                    false, true, true
-            ));
-            le.addPotionEffect(new PotionEffect(
-                    PotionEffectType.WEAKNESS,
-                    0 + durTicks,
-                    0,
-                    false, true, true
-            ));
-            if (echo) {
-                le.addPotionEffect(new PotionEffect(
-                        PotionEffectType.BLINDNESS,
-                        30,
-                        0,
-                        false, true, true
-                ));
-            }
+        PotionEffect slow = new PotionEffect(PotionEffectType.SLOWNESS, durTicks, 3, false, true, true);
+        PotionEffect weak = new PotionEffect(PotionEffectType.WEAKNESS, durTicks, 0, false, true, true);
+        TideCastPipeline.Job job = echo
+                ? casts.job(TideAbility.BUBBLE, TideCastPipeline.Kernel.NONE, p, c, 0, 0, 0, 0, 0, slow, weak,
+                        new PotionEffect(PotionEffectType.BLINDNESS, spec.echoTicks(), 0, false, true, true))
+                : casts.job(TideAbility.BUBBLE, TideCastPipeline.Kernel.NONE, p, c, 0, 0, 0, 0, 0, slow, weak);
+        for (LivingEntity le : targets.near(c, radius, radius, radius)) {
+            if (le != p) job.add(le);
         }
+        casts.submit(job);
 
         long durMs = durTicks * 50L;
         d.setInBubble(true);
         d.setBubbleExpiresAt(now + durMs);
+        UUID id = p.getUniqueId();
+        timers.scheduleAt(now + durMs, now, () -> expireBubble(id));
 
-        long cd = cdFromEvo(p, BUBBLE_CD_BASE);
+        long cd = spec.cooldownMs();
         d.setBubbleReadyAt(now + cd);
-        showCooldown(p, "Bubble", now, now + cd, BarColor.BLUE);
-        sendAB(p, ChatColor.AQUA + "Bubble" + ChatColor.WHITE + " cast.");
-        activateEcho(p, now);
+        showCooldown(p, s, TideAbility.BUBBLE, now, now + cd, BarColor.BLUE);
+        sendAB(p, Level.INFO, ChatColor.AQUA + "Bubble" + ChatColor.WHITE + " cast.");
+        activateEcho(p, s, now);
     }
 
     private void triggerTidepool(Player p) {
         long now = System.currentTimeMillis();
-        TidePlayerData d = data(p);
-        if (!checkCd(p, d.getTidepoolReadyAt(), "Tidepool")) return;
-
-        consumeHunger(p, 1);
-
-        boolean echo = isEchoActive(p, now);
-        int evoLvl = evoLevel(p);
+        int s = store.slot(p);
+        TidePlayerData d = store.view(s);
+        if (!checkCd(p, d.getTidepoolReadyAt(), TideAbility.TIDEPOOL)) return;
+
+        boolean echo = isEchoActive(s, now);
+        TideEvoProfile prof = TideEvoBridge.profile(p);
+        TideAbilitySpec spec = specs.get(TideAbility.TIDEPOOL, prof.level());
+        consumeHunger(p, spec.hunger());
         Location base = p.getLocation().clone().subtract(0, 1, 0);
         World w = base.getWorld();
 
         // Pulsing water sigil: 3 short rings
-        double maxR = 3.0;
-        int points = 28;
-        for (int ring = 0; ring < 3; ring++) {
-            double r = maxR * (0.3 + 0.2 * ring);
-            double y = 0.05 + 0.02 * ring;
-            for (int i = 0; i < points; i++) {
-                double angle = 2 * Math.PI * i / points;
-                double x = Math.cos(angle) * r;
-                double z = Math.sin(angle) * r;
-                Location pt = base.clone().add(x, y, z);
-                w.spawnParticle(Particle.DRIPPING_WATER, pt, 1, 0.01, 0.01, 0.01, 0.0);
-                if (ring == 0 && i % 4 == 0) {
-                    w.spawnParticle(Particle.SPLASH, pt.clone().add(0, 0.15, 0), 1, 0.01, 0.01, 0.01, 0.0);
-                }
-            }
+        double bx = base.getX(), by = base.getY(), bz = base.getZ();
+        TideShapes.TIDEPOOL_SIGIL.emit(fx, w, Priority.NORMAL, Particle.DRIPPING_WATER, bx, by, bz, 1.0, 1, 0.01, 0.01, 0.01, 0.0);
+        TideShapes.TIDEPOOL_SIGIL.emitAccent(fx, w, Priority.NORMAL, Particle.SPLASH, bx, by + 0.15, bz, 1.0, 1, 0.01, 0.01, 0.01, 0.0);
+
+        fx.particle(w, Priority.NORMAL, Particle.SPLASH, bx, by + 1, bz, 20, 1.0, 0.2, 1.0, 0.02);
+        fx.sound(base, Priority.CORE, Sound.BLOCK_WATER_AMBIENT, 0.9f, 1.0f);
+        if (spec.enhanced()) {
+            fx.sound(base, Priority.NORMAL, Sound.BLOCK_BEACON_POWER_SELECT, 0.5f, 1.5f);
         }
 
-        w.spawnParticle(Particle.SPLASH, base.clone().add(0, 1, 0), 20, 1.0, 0.2, 1.0, 0.02);
-        w.playSound(base, Sound.BLOCK_WATER_AMBIENT, 0.9f, 1.0f);
-        if (evoLvl >= 2) {
-            w.playSound(base, Sound.BLOCK_BEACON_POWER_SELECT, 0.5f, 1.5f);
-        }
-
-        double radius = 3.0;
-        for (Entity e : w.getNearbyEntities(base, radius, 1.5, radius)) {
-            if (!(e instanceof LivingEntity le)) continue;
+        double radius = spec.radius();
+        int durTicks = spec.durationTicks();
+        PotionEffect slow = new PotionEffect(PotionEffectType.SLOWNESS, durTicks, spec.amplifier(), false, true, true);
+        TideCastPipeline.Job job = echo
+                ? casts.job(TideAbility.TIDEPOOL, TideCastPipeline.Kernel.NONE, p, base, 0, 0, 0, 0, 0, slow,
+                        new PotionEffect(PotionEffectType.WEAKNESS, spec.echoTicks(), 0, false, true, true))
+                : casts.job(TideAbility.TIDEPOOL, TideCastPipeline.Kernel.NONE, p, base, 0, 0, 0, 0, 0, slow);
+        for (LivingEntity le : targets.near(base, radius, 1.5, radius)) {
             if (le == p) {
+                // The caster's own buffs land on the cast tick
                 le.addPotionEffect(new PotionEffect(
                         PotionEffectType.SPEED,
-                        60 + evoLvl * 40,
+                        durTicks,
                         1,
                         false, true, true
                 ));
-                if (evoLvl >= 2) {
+                if (spec.enhanced()) {
                     le.addPotionEffect(new PotionEffect(
                             PotionEffectType.REGENERATION,
-                            60 + evoLvl * 40,
+                            durTicks,
                             0,
                             false, true, true
                     ));
                 }
             } else {
-                le.addPotionEffect(new PotionEffect(
-                        PotionEffectType.SLOWNESS,
-                        60 + evoLvl * 40,
-                        2,
-                        false, true, true
-                ));
-                if (echo) {
-                    le.addPotionEffect(new PotionEffect(
-                            PotionEffectType.WEAKNESS,
-                            40 + evoLvl * 20,
-                            0,
-                            false, true, true
-                    ));
-                }
+                job.add(le);
             }
         }
+        casts.submit(job);
 
-        long cd = cdFromEvo(p, TIDEPOOL_CD_BASE);
+        long cd = spec.cooldownMs();
         d.setTidepoolReadyAt(now + cd);
-        showCooldown(p, "Tidepool", now, now + cd, BarColor.BLUE);
-        sendAB(p, ChatColor.AQUA + "Tidepool" + ChatColor.WHITE + " cast.");
-        activateEcho(p, now);
+        showCooldown(p, s, TideAbility.TIDEPOOL, now, now + cd, BarColor.BLUE);
+        sendAB(p, Level.INFO, ChatColor.AQUA + "Tidepool" + ChatColor.WHITE + " cast.");
+        activateEcho(p, s, now);
     }
 
     private void triggerSurge(Player p) {
         long now = System.currentTimeMillis();
-        TidePlayerData d = data(p);
-        if (!checkCd(p, d.getSurgeReadyAt(), "Surge")) return;
-
-        consumeHunger(p, 1);
-
-        boolean echo = isEchoActive(p, now);
-        int evoLvl = evoLevel(p);
-        double radius = SURGE_RADIUS * TideEvoBridge.m(p, "surge");
-        double baseForce = SURGE_FORCE * TideEvoBridge.m(p, "surge");
-
-        // Evo scaling: MUCH stronger at Evo 3
-        double evoBoost = switch (evoLvl) {
-            case 1 -> 1.15;
-            case 2 -> 1.35;
-            case 3 -> 1.80; // big punch at Evo 3
-            default -> 1.0;
-        };
-
+        int s = store.slot(p);
+        TidePlayerData d = store.view(s);
+        if (!checkCd(p, d.getSurgeReadyAt(), TideAbility.SURGE)) return;
+
+        boolean echo = isEchoActive(s, now);
+        TideSpecs sp = specs;
+        TideEvoProfile prof = TideEvoBridge.profile(p);
+        int evoLvl = prof.level();
+        TideAbilitySpec spec = sp.get(TideAbility.SURGE, evoLvl);
+        consumeHunger(p, spec.hunger());
+        double radius = spec.radius() * prof.surge();
+
+        // Spec force already carries the Evo curve (much stronger at Evo 3);
         // Tide Echo synergy: stronger wave when chaining abilities
-        double force = baseForce * evoBoost * (echo ? 1.25 : 1.0);
+        double force = spec.force() * prof.surge() * (echo ? sp.echoScale() : 1.0);
 
         Location c = p.getLocation();
         Vector dir = p.getLocation().getDirection().normalize();
 
-        // Sweeping wave arc in front (optimized density)
-        int waveSteps = 4;
-        int sideSamples = 10;
-        for (int step = 1; step <= waveSteps; step++) {
-            double dist = 1.6 * step;
-            Location center = c.clone().add(dir.clone().multiply(dist)).add(0, 0.2, 0);
-            for (int i = -sideSamples; i <= sideSamples; i++) {
-                double offset = i / (double) sideSamples;
-                Vector side = new Vector(-dir.getZ(), 0, dir.getX()).normalize().multiply(offset * 1.2 * (1 + 0.08 * evoLvl));
-                Location pt = center.clone().add(side);
-                c.getWorld().spawnParticle(Particle.SPLASH, pt, 1, 0.04, 0.06, 0.04, 0.0);
-                if (step == waveSteps && Math.abs(i) % 3 == 0) {
-                    c.getWorld().spawnParticle(Particle.DRIPPING_WATER, pt.clone().add(0, 0.15, 0), 1, 0.01, 0.03, 0.01, 0.0);
-                }
-            }
-        }
-
-        c.getWorld().playSound(c, Sound.ITEM_TRIDENT_RIPTIDE_2, 0.9f, 1.2f);
-        c.getWorld().playSound(c, Sound.BLOCK_WATER_AMBIENT, 0.8f, 1.6f);
-
-        for (Entity e : p.getWorld().getNearbyEntities(c, radius, radius, radius)) {
-            if (!(e instanceof LivingEntity le) || le == p) continue;
-            Vector to = safeUnit(le.getLocation().toVector().subtract(c.toVector()));
-            double dot = to.dot(dir);
-            boolean inFront = dot > 0.25;
-
-            Vector push = (inFront ? dir : dir.clone().multiply(-1)).multiply(force);
-            push.setY(Math.max(-0.2, Math.min(0.6, push.getY())));
-            le.setVelocity(safeFinite(le.getVelocity().add(push)));
-
-            if (evoLvl >= 2) {
-                le.addPotionEffect(new PotionEffect(
-                        PotionEffectType.SLOWNESS,
-                        40,
-                        1,
-                        false, true, true
-                ));
-            }
+        // Sweeping wave arc in front (precomputed per Evo level, oriented along the look direction)
+        World w = c.getWorld();
+        double hx = dir.getX(), hy = dir.getY(), hz = dir.getZ();
+        double side = Math.sqrt(hx * hx + hz * hz);
+        double lx = side < 1.0e-6 ? 1.0 : -hz / side;
+        double lz = side < 1.0e-6 ? 0.0 : hx / side;
+        TideShapes.Shape wave = TideShapes.SURGE_WAVE[evoLvl];
+        wave.emitFramed(fx, w, Priority.NORMAL, Particle.SPLASH, c.getX(), c.getY(), c.getZ(), hx, hy, hz, lx, lz, false,
+                1, 0.04, 0.06, 0.04, 0.0);
+        wave.emitFramed(fx, w, Priority.NORMAL, Particle.DRIPPING_WATER, c.getX(), c.getY() + 0.15, c.getZ(), hx, hy, hz, lx, lz, true,
+                1, 0.01, 0.03, 0.01, 0.0);
+
+        fx.sound(c, Priority.CORE, Sound.ITEM_TRIDENT_RIPTIDE_2, 0.9f, 1.2f);
+        fx.sound(c, Priority.NORMAL, Sound.BLOCK_WATER_AMBIENT, 0.8f, 1.6f);
+
+        // Push in front / behind, computed off-thread and applied next tick
+        TideCastPipeline.Job job = spec.enhanced()
+                ? casts.job(TideAbility.SURGE, TideCastPipeline.Kernel.PUSH, p, c, hx, hy, hz, force, 0,
+                        new PotionEffect(PotionEffectType.SLOWNESS, spec.durationTicks(), spec.amplifier(), false, true, true))
+                : casts.job(TideAbility.SURGE, TideCastPipeline.Kernel.PUSH, p, c, hx, hy, hz, force, 0);
+        for (LivingEntity le : targets.near(c, radius, radius, radius)) {
+            if (le != p) job.add(le);
         }
+        casts.submit(job);
 
-        long cd = cdFromEvo(p, SURGE_CD_BASE);
+        long cd = spec.cooldownMs();
         d.setSurgeReadyAt(now + cd);
-        showCooldown(p, "Surge", now, now + cd, BarColor.BLUE);
-        sendAB(p, ChatColor.AQUA + "Surge" + ChatColor.WHITE + " cast.");
-        activateEcho(p, now);
+        showCooldown(p, s, TideAbility.SURGE, now, now + cd, BarColor.BLUE);
+        sendAB(p, Level.INFO, ChatColor.AQUA + "Surge" + ChatColor.WHITE + " cast.");
+        activateEcho(p, s, now);
     }
 
     public void triggerTyphoon(Player p) {
+        synchronized (store) {
+            startTyphoon(p);
+        }
+    }
+
+    private void startTyphoon(Player p) {
         long now = System.currentTimeMillis();
-        TidePlayerData d = data(p);
         if (!TideAccessBridge.canUseTide(p)) return;
-
-        consumeHunger(p, 2);
-
-        boolean echo = isEchoActive(p, now);
-        int evoLvl = evoLevel(p);
-        // Evo 3 requirement
-        if (evoLvl < 3) {
-            sendAB(p, ChatColor.RED + "Typhoon unlocks at Evo 3.");
+        int s = store.slot(p);
+        TidePlayerData d = store.view(s);
+
+        boolean echo = isEchoActive(s, now);
+        TideSpecs sp = specs;
+        TideEvoProfile prof = TideEvoBridge.profile(p);
+        TideAbilitySpec spec = sp.get(TideAbility.TYPHOON, prof.level());
+        consumeHunger(p, spec.hunger());
+        // Evo requirement (Evo 3 by default)
+        if (!spec.unlocked()) {
+            sendAB(p, Level.ALERT, ChatColor.RED + "Typhoon unlocks at Evo " + sp.typhoonUnlockLevel() + ".");
             return;
         }
 
         if (now < d.getTyphoonReadyAt()) {
             long left = d.getTyphoonReadyAt() - now;
             int sec = (int) Math.ceil(left / 1000.0);
-            sendAB(p, ChatColor.RED + "Typhoon on cooldown (" + sec + "s)");
+            TideMetrics.rejected(TideAbility.TYPHOON);
+            sendAB(p, Level.ALERT, ChatColor.RED + "Typhoon on cooldown (" + sec + "s)");
             return;
         }
 
-        long dur = (long) (TYPHOON_DURATION_BASE * TideEvoBridge.m(p, "typhoon") * (echo ? 1.25 : 1.0));
+        long dur = (long) (spec.durationTicks() * 50L * prof.typhoon() * (echo ? sp.echoScale() : 1.0));
         d.setInTyphoon(true);
         d.setTyphoonActiveUntil(now + dur);
-        d.setTyphoonNextBoltAt(now + 350L);
+        d.setTyphoonNextBoltAt(now + spec.intervalMs());
+        store.markActive(s);
+        UUID id = p.getUniqueId();
+        timers.scheduleAt(now + dur, now, () -> endTyphoon(id));
 
         // Give a slight upward launch and slow-fall vibe
         Vector v = p.getVelocity();
@@ -695,195 +706,380 @@ public class TideManager implements Listener {
         Location c = p.getLocation().add(0, 4, 0);
         World w = c.getWorld();
 
-        // Initial multi-layer storm ring (optimized)
-        for (int layer = 0; layer < 3; layer++) {
-            double r = 2.0 + layer * 0.8;
-            int pts = 28;
-            double y = layer * 0.4;
-            for (int i = 0; i < pts; i++) {
-                double ang = 2 * Math.PI * i / pts;
-                double x = Math.cos(ang) * r;
-                double z = Math.sin(ang) * r;
-                Location pt = c.clone().add(x, y, z);
-                w.spawnParticle(Particle.CLOUD, pt, 1, 0.03, 0.03, 0.03, 0.0);
-                if (layer == 2 && i % 4 == 0) {
-                    w.spawnParticle(Particle.SPLASH, pt.clone().add(0, 0.2, 0), 1, 0.04, 0.04, 0.04, 0.0);
-                }
-            }
-        }
+        // Initial multi-layer storm ring (precomputed)
+        TideShapes.TYPHOON_STORM.emit(fx, w, Priority.NORMAL, Particle.CLOUD, c.getX(), c.getY(), c.getZ(), 1.0, 1, 0.03, 0.03, 0.03, 0.0);
+        TideShapes.TYPHOON_STORM.emitAccent(fx, w, Priority.NORMAL, Particle.SPLASH, c.getX(), c.getY() + 0.2, c.getZ(), 1.0, 1, 0.04, 0.04, 0.04, 0.0);
 
-        w.playSound(c, Sound.WEATHER_RAIN_ABOVE, 1.2f, 0.8f);
-        w.playSound(c, Sound.ENTITY_DROWNED_HURT_WATER, 0.8f, 1.6f);
+        fx.sound(c, Priority.CORE, Sound.WEATHER_RAIN_ABOVE, 1.2f, 0.8f);
+        fx.sound(c, Priority.NORMAL, Sound.ENTITY_DROWNED_HURT_WATER, 0.8f, 1.6f);
 
-        activateEcho(p, now);
+        activateEcho(p, s, now);
 
-        long cd = cdFromEvo(p, TYPHOON_CD_BASE);
+        long cd = spec.cooldownMs();
         d.setTyphoonReadyAt(now + cd);
-        showCooldown(p, "Typhoon", now, now + cd, BarColor.BLUE);
-        sendAB(p, ChatColor.AQUA + "Typhoon" + ChatColor.WHITE + " unleashed.");
+        showCooldown(p, s, TideAbility.TYPHOON, now, now + cd, BarColor.BLUE);
+        sendAB(p, Level.INFO, ChatColor.AQUA + "Typhoon" + ChatColor.WHITE + " unleashed.");
     }
 
     // ------------------------------------------------------------
     // Tick — passive upkeep, Typhoon, bossbar, etc.
     // ------------------------------------------------------------
 
-    private final class TickTask extends BukkitRunnable {
+    private final class TickTask implements Runnable {
         @Override
         public void run() {
-            long now = System.currentTimeMillis();
-
-            for (Player p : Bukkit.getOnlinePlayers()) {
-                if (!TideAccessBridge.canUseTide(p)) continue;
+            synchronized (store) {
+                tick();
+            }
+        }
 
-                TidePlayerData d = data(p);
+        private void tick() {
+            long now = System.currentTimeMillis();
+            long perfStart = TidePerf.start();
+            long metricsStart = TideMetrics.tickStart();
+            tickMillis = now;
+            tick++;
+            targets.nextTick();
+            timers.advance(now);
+            long mark = TidePerf.lap(TidePerf.Phase.TICK_TIMERS, perfStart);
+            casts.applyReady();
+            mark = TidePerf.lap(TidePerf.Phase.TICK_APPLY, mark);
+            resolveInputs();
+            mark = TidePerf.lap(TidePerf.Phase.TICK_INPUT, mark);
+            long echoNs = 0L, typhoonNs = 0L, barNs = 0L;
+
+            // Periodic save, spread over ticks in batches
+            if (tick % flushEveryTicks == 0L) flushing = true;
+            if (flushing) flushing = flushDirty(flushBatch);
+
+            // Only slots with live state (echo, Typhoon, cooldown bar) are visited. The count is
+            // re-read every pass so a slot marked active mid-loop is still picked up.
+            TideStateStore st = store;
+            int keep = 0;
+            for (int i = 0; i < st.activeCount; i++) {
+                int s = st.activeSlots[i];
+                Player p = st.players[s];
+                if (p == null || !p.isOnline() || !TideAccessBridge.canUseTide(p)) {
+                    st.active[s] = false;
+                    continue;
+                }
 
                 // Passive: Tide Echo — ambient effect while an echo is active
-                tickEchoVisual(p, now);
-
-                // Typhoon upkeep FX
-                if (d.isInTyphoon()) {
-                    if (now >= d.getTyphoonActiveUntil()) {
-                        d.setInTyphoon(false);
-                        clearAB(p);
-
-                        // Ending splash shockwave when Typhoon ends
-                        Location end = p.getLocation();
-                        World w = end.getWorld();
-                        w.spawnParticle(Particle.SPLASH, end.clone().add(0, 1, 0),
-                                32, 1.5, 0.3, 1.5, 0.08);
-                        w.playSound(end, Sound.ENTITY_PLAYER_SPLASH_HIGH_SPEED, 1.0f, 1.0f);
-
-                    } else {
-                        double left = (d.getTyphoonActiveUntil() - now) / 1000.0;
-                        sendAB(p, ChatColor.AQUA + "Typhoon: " + ChatColor.WHITE +
-                                String.format(java.util.Locale.US, "%.1fs", Math.max(0.0, left)));
-
-                        if (now >= d.getTyphoonNextBoltAt()) {
-                            d.setTyphoonNextBoltAt(now + TYPHOON_TICK_MS);
-
-                            Location c = p.getLocation().add(0, 4, 0);
-                            World w = c.getWorld();
-
-                            // Spinning inner spiral (optimized)
-                            int pts = 20;
-                            double r = 2.2;
-                            for (int i = 0; i < pts; i++) {
-                                double t = (now / 220.0) + i * (2 * Math.PI / pts);
-                                double x = Math.cos(t) * r;
-                                double z = Math.sin(t) * r;
-                                Location pt = c.clone().add(x, 0, z);
-                                w.spawnParticle(Particle.SPLASH, pt, 1, 0.05, 0.05, 0.05, 0.02);
-                            }
-
-                            // Gentle rain around player
-                            w.spawnParticle(Particle.DRIPPING_WATER, p.getLocation().add(0, 2.0, 0),
-                                    16, 2.3, 1.4, 2.3, 0.03);
-
-                            w.playSound(c, Sound.WEATHER_RAIN_ABOVE, 0.7f, 1.3f);
-
-                            // Typhoon damage pulses around the player
-                            double radius = 5.0;
-                            for (Entity e : p.getWorld().getNearbyEntities(p.getLocation(), radius, radius, radius)) {
-                                if (!(e instanceof LivingEntity le) || le == p) continue;
-                                Location el = le.getLocation();
-                                el.getWorld().spawnParticle(Particle.DRIPPING_WATER, el.add(0, 1.0, 0),
-                                        6, 0.4, 0.5, 0.4, 0.03);
-                                le.damage(0.75, p); // small but frequent damage
-                                Vector push = safeUnit(le.getLocation().toVector().subtract(p.getLocation().toVector()));
-                                push.setY(0.2);
-                                le.setVelocity(safeFinite(le.getVelocity().add(push.multiply(0.25))));
-                            }
+                long t = mark != 0L ? System.nanoTime() : 0L;
+                tickEchoVisual(p, s, now);
+                if (t != 0L) { long n = System.nanoTime(); echoNs += n - t; t = n; }
+
+                // Typhoon upkeep FX (the end itself is fired by the timing wheel)
+                if (st.inTyphoon[s]) {
+                    if (now < st.typhoonUntil[s]) {
+                        long tenths = (st.typhoonUntil[s] - now + 99L) / 100L;
+                        sendAB(p, Level.STATUS, TYPHOON_AB_PREFIX + (tenths / 10) + "." + (tenths % 10) + "s");
+
+                        if (now >= st.typhoonNextBolt[s]) {
+                            TideAbilitySpec spec = specs.get(TideAbility.TYPHOON, TideEvoBridge.profile(p).level());
+                            st.typhoonNextBolt[s] = now + spec.intervalMs();
+                            onOwner(p, () -> typhoonPulse(p, spec, now));
                         }
                     }
                 }
 
-                // Bossbar cooldown progress
-                BossBar b = bars.get(p.getUniqueId());
-                if (b != null) {
-                    LastCooldown lc = lastCooldown.get(p.getUniqueId());
-                    if (lc == null) {
-                        b.setVisible(false);
-                    } else {
-                        long start = lc.startMs();
-                        long end = lc.endMs();
-                        if (now >= end) {
-                            b.setVisible(false);
-                        } else {
-                            double total = Math.max(1.0, (double) (end - start));
-                            double left = Math.max(0.0, (double) (end - now));
-                            double prog = Math.max(0.0, Math.min(1.0, 1.0 - (left / total)));
-                            b.setProgress(prog);
-                            String secs = String.format(java.util.Locale.US, "%.1fs", left / 1000.0);
-                            b.setTitle(ChatColor.AQUA + lc.label() + ChatColor.GRAY + " cooldown • " + secs);
-                            if (!b.isVisible()) b.setVisible(true);
-                        }
-                    }
+                if (t != 0L) { long n = System.nanoTime(); typhoonNs += n - t; t = n; }
+
+                // Bossbar cooldown progress (only changed titles / steps are sent)
+                cooldownBars.update(s, now);
+                if (t != 0L) barNs += System.nanoTime() - t;
+
+                if (hasLiveState(s, now)) {
+                    st.activeSlots[keep++] = s;
+                } else {
+                    st.active[s] = false;
                 }
             }
+            st.activeCount = keep;
+
+            if (mark != 0L) {
+                TidePerf.record(TidePerf.Phase.TICK_ECHO, echoNs);
+                TidePerf.record(TidePerf.Phase.TICK_TYPHOON, typhoonNs);
+                TidePerf.record(TidePerf.Phase.TICK_BOSSBAR, barNs);
+                mark = System.nanoTime();
+            }
+
+            // One action bar packet per player, after everything this tick has posted
+            actionBar.flush(tick);
+            TidePerf.lap(TidePerf.Phase.TICK_ACTIONBAR, mark);
+            TidePerf.stop(TidePerf.Phase.TICK, perfStart);
+
+            if (metricsStart != 0L && tick % 20L == 0L) publishGauges(now);
+            TideMetrics.tickEnd(metricsStart);
+        }
+    }
+
+    /** One Typhoon pulse around {@code p}; runs on the thread that owns the player. */
+    private void typhoonPulse(Player p, TideAbilitySpec spec, long now) {
+        Location c = p.getLocation().add(0, 4, 0);
+        World w = c.getWorld();
+
+        // Spinning inner spiral (precomputed ring, rotated once per pulse)
+        double phase = now / 220.0;
+        TideShapes.TYPHOON_SPIRAL.emitRotated(fx, w, Priority.NORMAL, Particle.SPLASH, c.getX(), c.getY(), c.getZ(), 2.2,
+                Math.cos(phase), Math.sin(phase), 1, 0.05, 0.05, 0.05, 0.02);
+
+        // Gentle rain around player
+        fx.particle(w, Priority.COSMETIC, Particle.DRIPPING_WATER, c.getX(), c.getY() - 2.0, c.getZ(),
+                16, 2.3, 1.4, 2.3, 0.03);
+
+        fx.sound(c, Priority.NORMAL, Sound.WEATHER_RAIN_ABOVE, 0.7f, 1.3f);
+
+        // Typhoon damage pulses around the player: small but frequent damage plus
+        // an outward shove, applied next tick
+        double radius = spec.radius();
+        Location pl = p.getLocation();
+        TideCastPipeline.Job job = casts.job(TideAbility.TYPHOON, TideCastPipeline.Kernel.PULSE, p, pl,
+                0, 0, 0, spec.force(), spec.damage());
+        for (LivingEntity le : targets.near(pl, radius, radius, radius)) {
+            if (le == p) continue;
+            int j = job.add(le);
+            fx.particle(w, Priority.COSMETIC, Particle.DRIPPING_WATER,
+                    job.tx[j], job.ty[j] + 1.0, job.tz[j], 6, 0.4, 0.5, 0.4, 0.03);
         }
+        casts.submit(job);
+    }
+
+    private void publishGauges(long now) {
+        TideStateStore st = store;
+        long typhoons = 0L, echoes = 0L;
+        for (int i = 0; i < st.activeCount; i++) {
+            int s = st.activeSlots[i];
+            if (st.inTyphoon[s]) typhoons++;
+            if (now <= st.echoUntil[s]) echoes++;
+        }
+        long attuned = 0L;
+        for (int s = 0; s < st.capacity(); s++) {
+            Player p = st.players[s];
+            if (p != null && TideAccessBridge.access(p.getUniqueId()) == TideAccessBridge.Access.ENABLED) attuned++;
+        }
+        TideMetrics.gauges(typhoons, echoes, st.activeCount, attuned);
     }
 
     // ------------------------------------------------------------
-    // Passive flow logic (Tidal Momentum) + Tide Echo helpers
+    // Input resolution — single F tap / sneak tap by tick deadline
     // ------------------------------------------------------------
 
-    // Passive Tide Echo state
-    private static final class EchoState {
-        long activeUntil;
+    private void dropInput(int s) {
+        // Left in the pending list until the next pass, which discards it
+        store.firstTapAt[s] = 0L;
+        store.firstTapSneak[s] = false;
+        store.fTapDeadline[s] = 0L;
+        store.sneakDeadline[s] = 0L;
     }
 
-    private boolean isEchoActive(Player p, long now) {
-        EchoState es = echoes.get(p.getUniqueId());
-        return es != null && now <= es.activeUntil;
+    private void resolveInputs() {
+        TideStateStore st = store;
+        int keep = 0;
+        for (int i = 0; i < st.pendingCount; i++) {
+            int s = st.pendingSlots[i];
+            Player p = st.players[s];
+
+            if (p != null && st.fTapDeadline[s] != 0L && tick >= st.fTapDeadline[s]) {
+                st.fTapDeadline[s] = 0L;
+                // No second tap intervened
+                TideAbility a = st.firstTapSneak[s] ? TideAbility.BUBBLE : TideAbility.SURGE;
+                onOwner(p, () -> cast(p, a));
+                st.firstTapAt[s] = 0L;
+                st.firstTapSneak[s] = false;
+            }
+
+            if (p != null && st.sneakDeadline[s] != 0L && tick >= st.sneakDeadline[s]) {
+                st.sneakDeadline[s] = 0L;
+                // Quick tap detection: if player is no longer sneaking, treat it as a tap.
+                // Ground tap only (like Gale Pull)
+                onOwner(p, () -> {
+                    if (!p.isSneaking() && p.isOnGround()) cast(p, TideAbility.TIDEPOOL);
+                });
+            }
+
+            if (p != null && (st.fTapDeadline[s] != 0L || st.sneakDeadline[s] != 0L)) {
+                st.pendingSlots[keep++] = s;
+            } else {
+                st.inputQueued[s] = false;
+            }
+        }
+        st.pendingCount = keep;
     }
 
-    private void activateEcho(Player p, long now) {
-        EchoState es = echoes.computeIfAbsent(p.getUniqueId(), id -> new EchoState());
-        es.activeUntil = now + TIDE_ECHO_DURATION_MS;
+    // ------------------------------------------------------------
+    // Persistence — cooldown / effect timestamps in the player's PDC
+    // ------------------------------------------------------------
+
+    /** Single decode on join; restored effects get their expiry timers back. */
+    private void loadState(Player p, int s) {
+        byte[] blob;
+        try {
+            blob = p.getPersistentDataContainer().get(stateKey, PersistentDataType.BYTE_ARRAY);
+        } catch (Throwable ignored) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (!TideStateCodec.decodeInto(blob, store, s, now)) return;
+
+        UUID id = p.getUniqueId();
+        if (store.inBubble[s]) timers.scheduleAt(store.bubbleUntil[s], now, () -> expireBubble(id));
+        if (store.inTyphoon[s]) {
+            store.markActive(s);
+            timers.scheduleAt(store.typhoonUntil[s], now, () -> endTyphoon(id));
+        }
+        if (store.echoUntil[s] > now) {
+            store.markActive(s);
+            long until = store.echoUntil[s];
+            timers.scheduleAt(until, now, () -> expireEcho(id));
+        }
+    }
+
+    /** Encodes the slot now; the PDC write itself happens on the thread that owns the player. */
+    private void flushState(Player p, int s, long now) {
+        store.dirty[s] = false;
+        byte[] blob = TideStateCodec.encode(store, s, now);
+        onOwner(p, () -> {
+            try {
+                p.getPersistentDataContainer().set(stateKey, PersistentDataType.BYTE_ARRAY, blob);
+            } catch (Throwable ignored) {}
+        });
+    }
+
+    /** Writes up to {@code max} dirty online slots; returns true while some are left. */
+    private boolean flushDirty(int max) {
+        TideStateStore st = store;
+        long now = System.currentTimeMillis();
+        int i = 0;
+        for (int written = 0; i < st.dirtyCount && written < max; i++) {
+            int s = st.dirtySlots[i];
+            if (!st.dirty[s]) continue;
+            Player p = st.players[s];
+            if (p == null) {
+                // Offline: the quit flush already wrote it
+                st.dirty[s] = false;
+                continue;
+            }
+            flushState(p, s, now);
+            written++;
+        }
+        int left = st.dirtyCount - i;
+        System.arraycopy(st.dirtySlots, i, st.dirtySlots, 0, left);
+        st.dirtyCount = left;
+        return left > 0;
+    }
+
+    // ------------------------------------------------------------
+    // Expiry — fired by the timing wheel when a deadline is reached
+    // ------------------------------------------------------------
+
+    private void endTyphoon(UUID id) {
+        int s = store.find(id);
+        long now = System.currentTimeMillis();
+        if (s < 0 || !store.inTyphoon[s] || now < store.typhoonUntil[s]) return;
+        store.inTyphoon[s] = false;
+
+        Player p = store.players[s];
+        if (p == null) return;
+        clearAB(p);
+
+        // Ending splash shockwave when Typhoon ends
+        Location end = p.getLocation();
+        World w = end.getWorld();
+        fx.particle(w, Priority.NORMAL, Particle.SPLASH, end.getX(), end.getY() + 1, end.getZ(),
+                32, 1.5, 0.3, 1.5, 0.08);
+        fx.sound(end, Priority.NORMAL, Sound.ENTITY_PLAYER_SPLASH_HIGH_SPEED, 1.0f, 1.0f);
+    }
+
+    private void expireEcho(UUID id) {
+        int s = store.find(id);
+        if (s >= 0 && System.currentTimeMillis() >= store.echoUntil[s]) store.echoUntil[s] = 0L;
+    }
+
+    private void expireBubble(UUID id) {
+        int s = store.find(id);
+        if (s >= 0 && store.inBubble[s] && System.currentTimeMillis() >= store.bubbleUntil[s]) {
+            store.inBubble[s] = false;
+        }
+    }
+
+    /** Grace-period hook: frees the slot unless the player came back (or quit again) since. */
+    private void evict(UUID id, long stamp) {
+        int s = store.find(id);
+        if (s < 0 || store.players[s] != null || store.detachedAt[s] != stamp) return;
+        store.release(s);
+        evictions++;
+    }
+
+    /** Cooldown-ready hook: frees the bar if it is still showing the cooldown that just ended. */
+    private void cooldownReady(UUID id, TideAbility ability, long endMs) {
+        int s = store.find(id);
+        if (s >= 0) cooldownBars.ready(s, ability, endMs);
+    }
+
+    private boolean hasLiveState(int s, long now) {
+        if (store.inTyphoon[s]) return true;
+        if (now <= store.echoUntil[s]) return true;
+        return cooldownBars.running(s, now);
+    }
+
+    // ------------------------------------------------------------
+    // Passive flow logic (Tidal Momentum) + Tide Echo helpers
+    // ------------------------------------------------------------
+
+    private boolean isEchoActive(int s, long now) {
+        return now <= store.echoUntil[s];
+    }
+
+    private void activateEcho(Player p, int s, long now) {
+        long until = now + specs.echoDurationMs();
+        store.echoUntil[s] = until;
+        store.markActive(s);
+        UUID id = p.getUniqueId();
+        timers.scheduleAt(until, now, () -> expireEcho(id));
 
         // Small burst when a new echo is set
         Location c = p.getLocation().add(0, 1.1, 0);
-        c.getWorld().spawnParticle(Particle.SPLASH, c, 8, 0.3, 0.2, 0.3, 0.02);
-        c.getWorld().spawnParticle(Particle.CLOUD, c, 3, 0.2, 0.15, 0.2, 0.01);
+        fx.particle(c, Priority.NORMAL, Particle.SPLASH, 8, 0.3, 0.2, 0.3, 0.02);
+        fx.particle(c, Priority.COSMETIC, Particle.CLOUD, 3, 0.2, 0.15, 0.2, 0.01);
     }
 
-    private void tickEchoVisual(Player p, long now) {
-        EchoState es = echoes.get(p.getUniqueId());
-        if (es == null || now > es.activeUntil) return;
+    private void tickEchoVisual(Player p, int s, long now) {
+        if (now > store.echoUntil[s]) return;
 
         Location c = p.getLocation().add(0, 0.2, 0);
-        c.getWorld().spawnParticle(Particle.DRIPPING_WATER, c, 3, 0.25, 0.05, 0.25, 0.01);
+        fx.particle(c, Priority.COSMETIC, Particle.DRIPPING_WATER, 3, 0.25, 0.05, 0.25, 0.01);
     }
 
-    // Legacy flow state (no longer used, kept for minimal code movement)
-    private static final class FlowState {
-        double flow = 0.0;
-        Location lastLoc = null;
-        long lastUpdate = 0L;
-        long lastBurstAt = 0L;
+    private void clearFlow(int s) {
+        store.flow[s] = 0.0;
+        store.flowLastLoc[s] = null;
+        store.flowLastUpdate[s] = 0L;
+        store.flowLastBurst[s] = 0L;
     }
 
-    private void updateFlow(Player p, TidePlayerData d, long now) {
-        FlowState fs = flows.computeIfAbsent(p.getUniqueId(), id -> new FlowState());
+    // Legacy flow state (no longer used, kept for minimal code movement)
+    private void updateFlow(Player p, int s, long now) {
+        TideStateStore st = store;
         Location loc = p.getLocation();
 
-        if (fs.lastLoc != null) {
-            double dtSec = (now - fs.lastUpdate) / 1000.0;
+        if (st.flowLastLoc[s] != null) {
+            double dtSec = (now - st.flowLastUpdate[s]) / 1000.0;
             if (dtSec < 0) dtSec = 0;
 
-            Vector lastV = fs.lastLoc.toVector();
+            Vector lastV = st.flowLastLoc[s].toVector();
             Vector curV  = loc.toVector();
             lastV.setY(0); curV.setY(0);
             double dist = curV.distance(lastV);
             boolean moving = dist > 0.04;
 
-            fs.flow = Math.max(0.0, fs.flow - FLOW_DECAY_PER_SECOND * dtSec);
+            st.flow[s] = Math.max(0.0, st.flow[s] - FLOW_DECAY_PER_SECOND * dtSec);
 
             if (moving && p.isOnGround() && !p.isSneaking()) {
-                fs.flow = Math.min(1.0, fs.flow + dist * FLOW_GAIN_PER_BLOCK);
+                st.flow[s] = Math.min(1.0, st.flow[s] + dist * FLOW_GAIN_PER_BLOCK);
             }
 
-            if (!moving && fs.flow >= FLOW_TRIGGER_MIN && now - fs.lastBurstAt >= FLOW_BURST_COOLDOWN) {
+            if (!moving && st.flow[s] >= FLOW_TRIGGER_MIN && now - st.flowLastBurst[s] >= FLOW_BURST_COOLDOWN) {
                 int evoLvl = evoLevel(p);
                 int amp = (evoLvl >= 3 ? 1 : 0);
                 int duration = 20;
@@ -896,91 +1092,55 @@ public class TideManager implements Listener {
                 ));
 
                 Location c = loc.clone().add(0, 0.15, 0);
-                c.getWorld().spawnParticle(Particle.SPLASH, c, 14, 0.25, 0.08, 0.25, 0.04);
-                c.getWorld().spawnParticle(Particle.CLOUD, c, 5, 0.18, 0.10, 0.18, 0.01);
-                c.getWorld().playSound(c, Sound.BLOCK_WATER_AMBIENT, 0.6f, 1.5f);
+                fx.particle(c, Priority.COSMETIC, Particle.SPLASH, 14, 0.25, 0.08, 0.25, 0.04);
+                fx.particle(c, Priority.COSMETIC, Particle.CLOUD, 5, 0.18, 0.10, 0.18, 0.01);
+                fx.sound(c, Priority.COSMETIC, Sound.BLOCK_WATER_AMBIENT, 0.6f, 1.5f);
 
-                fs.lastBurstAt = now;
-                fs.flow = 0.0;
+                st.flowLastBurst[s] = now;
+                st.flow[s] = 0.0;
             }
         }
 
-        fs.lastLoc = loc.clone();
-        fs.lastUpdate = now;
+        st.flowLastLoc[s] = loc.clone();
+        st.flowLastUpdate[s] = now;
     }
 
     // ------------------------------------------------------------
     // Helpers
     // ------------------------------------------------------------
 
-    private record LastCooldown(String label, long startMs, long endMs) {}
-
-    private static final class FTapState {
-        long firstTapAt = 0L;
-        boolean firstTapSneak = false;
-        BukkitTask pending = null;
-    }
-
-    private static final class SneakState {
-        long sneakDownAt = 0L;
-        BukkitTask pending = null;
-    }
-
     private int evoLevel(Player p) {
-        if (evo != null) {
-            try {
-                return Math.max(0, Math.min(3, evo.getEvoLevel(p.getUniqueId())));
-            } catch (Throwable ignored) {}
-        }
-        return TideEvoBridge.evo(p);
+        return TideEvoBridge.profile(p).level();
     }
 
-    private boolean checkCd(Player p, long readyAt, String label) {
+    private boolean checkCd(Player p, long readyAt, TideAbility ability) {
         long now = System.currentTimeMillis();
         if (now < readyAt) {
+            TideMetrics.rejected(ability);
             long left = readyAt - now;
             int sec = (int) Math.ceil(left / 1000.0);
-            sendAB(p, ChatColor.RED + label + " on cooldown (" + sec + "s)");
+            sendAB(p, Level.ALERT, ChatColor.RED + ability.label() + " on cooldown (" + sec + "s)");
             return false;
         }
         return true;
     }
 
-    private long cdFromEvo(Player p, long base) {
-        int lvl = evoLevel(p);
-        double factor = CDR[Math.max(0, Math.min(3, lvl))];
-        return (long) Math.max(0L, Math.floor(base * factor));
+    private void showCooldown(Player p, int s, TideAbility ability, long startMs, long endMs, BarColor color) {
+        TideMetrics.cast(ability);
+        cooldownBars.show(p, s, ability, startMs, endMs, color);
+        store.markActive(s);
+        store.markDirty(s);
+        UUID id = p.getUniqueId();
+        timers.scheduleAt(endMs, startMs, () -> cooldownReady(id, ability, endMs));
     }
 
-    private void showCooldown(Player p, String label, long startMs, long endMs, BarColor color) {
-        BossBar bar = bars.computeIfAbsent(p.getUniqueId(), id ->
-                Bukkit.createBossBar(ChatColor.AQUA + label, color, BarStyle.SEGMENTED_10));
-        bar.setColor(color);
-        bar.addPlayer(p);
-        bar.setVisible(true);
-        lastCooldown.put(p.getUniqueId(), new LastCooldown(label, startMs, endMs));
-    }
-
-    private void sendAB(Player p, String msg) {
-        try {
-            p.spigot().sendMessage(ChatMessageType.ACTION_BAR, new TextComponent(msg));
-        } catch (Throwable ignored) {
-            p.sendMessage(msg);
-        }
+    /** Queues an action bar message; TickTask sends at most one per player per tick. */
+    private void sendAB(Player p, Level level, String msg) {
+        actionBar.post(store.slot(p), level, msg);
     }
 
     private void clearAB(Player p) {
-        try {
-            p.spigot().sendMessage(ChatMessageType.ACTION_BAR, new TextComponent(""));
-        } catch (Throwable ignored) {
-        }
-    }
-
-    private Vector safeUnit(Vector v) {
-        if (v == null) return new Vector(0, 1, 0);
-        double len = v.length();
-        if (!Double.isFinite(len) || len < 1.0e-6) return new Vector(0, 1, 0);
-        return v.multiply(1.0 / len);
+        actionBar.post(store.slot(p), Level.STATUS, "");
     }
 
     private Vector safeFinite(Vector v) {
@@ -0,0 +1,264 @@
+package com.stellinova.tidewielder;
+
+import com.sun.net.httpserver.HttpServer;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Opt-in metrics in Prometheus text format (config section {@code metrics}).
+ *
+ * Counters are {@link LongAdder}s, so recording from the main thread never contends with a
+ * scrape. Gauges are published by TickTask once a second. The text is served from a loopback
+ * HTTP endpoint or written to a file on an async timer. While disabled every record call is a
+ * single static read.
+ */
+final class TideMetrics {
+
+    private static final int ABILITIES = TideAbility.COUNT;
+
+    private static final LongAdder[] CASTS = adders(ABILITIES);
+    private static final LongAdder[] REJECTED = adders(ABILITIES);
+    private static final LongAdder[] AFFECTED = adders(ABILITIES);
+    private static final LongAdder PARTICLES = new LongAdder();
+    private static final LongAdder SOUNDS = new LongAdder();
+    private static final LongAdder FX_DROPPED = new LongAdder();
+    private static final LongAdder FX_PACKETS = new LongAdder();
+    private static final LongAdder FX_CULLED = new LongAdder();
+    private static final LongAdder HUD_REFRESHES = new LongAdder();
+    private static final LongAdder TICKS = new LongAdder();
+    private static final LongAdder TICK_NANOS = new LongAdder();
+
+    private static volatile long activeTyphoons;
+    private static volatile long activeEchoes;
+    private static volatile long activeSlots;
+    private static volatile long onlineAttuned;
+
+    // Read by every record call on whatever thread it runs
+    private static volatile boolean enabled;
+    private static Logger logger;
+    private static volatile boolean moveWarned;
+    private static volatile boolean writeWarned;
+    private static HttpServer server;
+    private static ExecutorService httpExecutor;
+    private static TideScheduler.Task fileTask;
+
+    private TideMetrics() {}
+
+    // ------------------------------------------------------------
+    // Lifecycle
+    // ------------------------------------------------------------
+
+    static void start(TideWielderPlugin plugin) {
+        stop();
+        ConfigurationSection sec = plugin.getConfig().getConfigurationSection("metrics");
+        if (sec == null || !sec.getBoolean("enabled", false)) return;
+        logger = plugin.getLogger();
+        moveWarned = false;
+        writeWarned = false;
+
+        String mode = sec.getString("mode", "http").toLowerCase(Locale.ROOT);
+        try {
+            if (mode.equals("file")) {
+                File out = new File(plugin.getDataFolder(), sec.getString("file", "metrics.prom"));
+                long period = Math.max(1L, sec.getLong("file-interval-seconds", 15L)) * 20L;
+                fileTask = plugin.getTideScheduler().repeatAsync(() -> writeFile(out), period, period);
+            } else {
+                int port = sec.getInt("port", 9464);
+                HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+                http.createContext("/metrics", ex -> {
+                    byte[] body = render().getBytes(StandardCharsets.UTF_8);
+                    ex.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                    ex.sendResponseHeaders(200, body.length);
+                    try (OutputStream os = ex.getResponseBody()) {
+                        os.write(body);
+                    }
+                });
+                httpExecutor = Executors.newSingleThreadExecutor(r -> {
+                    Thread t = new Thread(r, "TideWielder-metrics");
+                    t.setDaemon(true);
+                    return t;
+                });
+                http.setExecutor(httpExecutor);
+                http.start();
+                server = http;
+            }
+            enabled = true;
+            plugin.getLogger().info("Metrics enabled (" + mode + ").");
+        } catch (Throwable t) {
+            plugin.getLogger().warning("Metrics disabled: " + t.getMessage());
+            stop();
+        }
+    }
+
+    static void stop() {
+        enabled = false;
+        if (server != null) {
+            try { server.stop(0); } catch (Throwable ignored) {}
+            server = null;
+        }
+        if (httpExecutor != null) {
+            httpExecutor.shutdownNow();
+            httpExecutor = null;
+        }
+        if (fileTask != null) {
+            try { fileTask.cancel(); } catch (Throwable ignored) {}
+            fileTask = null;
+        }
+    }
+
+    static boolean enabled() {
+        return enabled;
+    }
+
+    // ------------------------------------------------------------
+    // Recording
+    // ------------------------------------------------------------
+
+    static void cast(TideAbility a) {
+        if (enabled) CASTS[a.ordinal()].increment();
+    }
+
+    static void rejected(TideAbility a) {
+        if (enabled) REJECTED[a.ordinal()].increment();
+    }
+
+    static void affected(TideAbility a) {
+        if (enabled) AFFECTED[a.ordinal()].increment();
+    }
+
+    static void particles(int sent) {
+        if (enabled) PARTICLES.add(sent);
+    }
+
+    static void sound() {
+        if (enabled) SOUNDS.increment();
+    }
+
+    static void fxPackets(int sent, int culled) {
+        if (!enabled) return;
+        FX_PACKETS.add(sent);
+        FX_CULLED.add(culled);
+    }
+
+    static void fxDropped() {
+        if (enabled) FX_DROPPED.increment();
+    }
+
+    static void hudRefresh() {
+        if (enabled) HUD_REFRESHES.increment();
+    }
+
+    /** Tick start timestamp, or 0 while disabled. */
+    static long tickStart() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    static void tickEnd(long t0) {
+        if (t0 == 0L) return;
+        TICKS.increment();
+        TICK_NANOS.add(System.nanoTime() - t0);
+    }
+
+    static void gauges(long typhoons, long echoes, long active, long attuned) {
+        activeTyphoons = typhoons;
+        activeEchoes = echoes;
+        activeSlots = active;
+        onlineAttuned = attuned;
+    }
+
+    // ------------------------------------------------------------
+    // Exposition
+    // ------------------------------------------------------------
+
+    static String render() {
+        StringBuilder sb = new StringBuilder(2048);
+        perAbility(sb, "tidewielder_casts_total", "Successful casts.", CASTS);
+        perAbility(sb, "tidewielder_cooldown_rejections_total", "Casts refused because the ability was on cooldown.", REJECTED);
+        perAbility(sb, "tidewielder_entities_affected_total", "Entities hit by casts.", AFFECTED);
+        counter(sb, "tidewielder_particles_total", "Particles sent to players, summed over every per-viewer packet.", PARTICLES.sum());
+        counter(sb, "tidewielder_sound_calls_total", "Sound calls that passed the FX budget.", SOUNDS.sum());
+        counter(sb, "tidewielder_fx_packets_total", "Per-viewer particle and sound sends.", FX_PACKETS.sum());
+        counter(sb, "tidewielder_fx_culled_total", "Per-viewer sends skipped by distance LOD or reduced FX.", FX_CULLED.sum());
+        counter(sb, "tidewielder_fx_dropped_total", "FX calls dropped by the per-tick budget.", FX_DROPPED.sum());
+        counter(sb, "tidewielder_hud_refreshes_total", "Sidebar refreshes.", HUD_REFRESHES.sum());
+        gauge(sb, "tidewielder_active_typhoons", "Players with a running Typhoon.", activeTyphoons);
+        gauge(sb, "tidewielder_active_echoes", "Players with an active Tide Echo.", activeEchoes);
+        gauge(sb, "tidewielder_active_players", "Players TickTask visits each tick.", activeSlots);
+        gauge(sb, "tidewielder_online_attuned", "Online players attuned to TideWielder.", onlineAttuned);
+
+        sb.append("# HELP tidewielder_tick_seconds TideWielder TickTask time.\n");
+        sb.append("# TYPE tidewielder_tick_seconds summary\n");
+        sb.append("tidewielder_tick_seconds_sum ").append(TICK_NANOS.sum() / 1e9).append('\n');
+        sb.append("tidewielder_tick_seconds_count ").append(TICKS.sum()).append('\n');
+        return sb.toString();
+    }
+
+    private static void perAbility(StringBuilder sb, String name, String help, LongAdder[] adders) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" counter\n");
+        for (TideAbility a : TideAbility.VALUES) {
+            sb.append(name).append("{ability=\"").append(a.name().toLowerCase(Locale.ROOT)).append("\"} ")
+                    .append(adders[a.ordinal()].sum()).append('\n');
+        }
+    }
+
+    private static void counter(StringBuilder sb, String name, String help, long value) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" counter\n");
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void gauge(StringBuilder sb, String name, String help, long value) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" gauge\n");
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void writeFile(File out) {
+        try {
+            File dir = out.getAbsoluteFile().getParentFile();
+            if (dir != null) dir.mkdirs();
+            File tmp = new File(dir, out.getName() + ".tmp");
+            Files.writeString(tmp.toPath(), render(), StandardCharsets.UTF_8);
+            try {
+                Files.move(tmp.toPath(), out.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // Not every filesystem can replace atomically; a scraper may then see a partial file
+                if (!moveWarned) {
+                    moveWarned = true;
+                    warn("Metrics file: atomic move failed (" + e + "), replacing in place.");
+                }
+                Files.move(tmp.toPath(), out.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            if (!writeWarned) {
+                writeWarned = true;
+                warn("Metrics file could not be written: " + e);
+            }
+        }
+    }
+
+    private static void warn(String msg) {
+        Logger l = logger;
+        if (l != null) l.warning(msg);
+    }
+
+    private static LongAdder[] adders(int n) {
+        LongAdder[] out = new LongAdder[n];
+        for (int i = 0; i < n; i++) out[i] = new LongAdder();
+        return out;
+    }
+}
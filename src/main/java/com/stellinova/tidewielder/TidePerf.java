@@ -0,0 +1,162 @@
+package com.stellinova.tidewielder;
+
+import java.util.Arrays;
+
+/**
+ * Opt-in latency profiler behind /tide perf.
+ *
+ * Each phase has a fixed-size log-linear histogram (4 buckets per power of two, so a
+ * percentile is accurate to ~19%), a call count and the max. While disabled, {@link #start}
+ * is a single volatile read and {@link #stop} a compare, and nothing is recorded.
+ *
+ * Usage: {@code long t0 = TidePerf.start(); ... TidePerf.stop(Phase.X, t0);}
+ */
+final class TidePerf {
+
+    enum Phase {
+        MAELSTROM("cast.maelstrom"),
+        BUBBLE("cast.bubble"),
+        TIDEPOOL("cast.tidepool"),
+        SURGE("cast.surge"),
+        TYPHOON("cast.typhoon"),
+        TICK("tick.total"),
+        TICK_TIMERS("tick.timers"),
+        TICK_APPLY("tick.apply"),
+        TICK_INPUT("tick.input"),
+        TICK_ECHO("tick.echo"),
+        TICK_TYPHOON("tick.typhoon"),
+        TICK_BOSSBAR("tick.bossbar"),
+        TICK_ACTIONBAR("tick.actionbar"),
+        HUD_REFRESH("hud.refresh"),
+        PLACEHOLDER("papi.request"),
+        ACCESS_LOAD("access.pdc");
+
+        final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final Phase[] CAST = {
+            Phase.MAELSTROM, Phase.BUBBLE, Phase.TIDEPOOL, Phase.SURGE, Phase.TYPHOON
+    };
+    private static final int SUB_BITS = 2;
+    private static final int BUCKETS = (64 - SUB_BITS) << SUB_BITS;
+
+    private static final Histogram[] HISTOGRAMS = new Histogram[PHASES.length];
+    static {
+        for (int i = 0; i < HISTOGRAMS.length; i++) HISTOGRAMS[i] = new Histogram();
+    }
+
+    // Toggled by the command, read by placeholder requests on PlaceholderAPI's threads too
+    private static volatile boolean enabled;
+    private static long sinceNanos;
+
+    private TidePerf() {}
+
+    static boolean enabled() {
+        return enabled;
+    }
+
+    static void setEnabled(boolean on) {
+        if (on && !enabled) reset();
+        enabled = on;
+    }
+
+    static void reset() {
+        for (Histogram h : HISTOGRAMS) h.clear();
+        sinceNanos = System.nanoTime();
+    }
+
+    /** Start timestamp, or 0 while disabled. */
+    static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    static void stop(Phase phase, long t0) {
+        if (t0 != 0L) record(phase, System.nanoTime() - t0);
+    }
+
+    /** Records since {@code t0} and returns the new mark, for back-to-back phases. */
+    static long lap(Phase phase, long t0) {
+        if (t0 == 0L) return 0L;
+        long now = System.nanoTime();
+        record(phase, now - t0);
+        return now;
+    }
+
+    static Phase cast(TideAbility a) {
+        return CAST[a.ordinal()];
+    }
+
+    static void record(Phase phase, long nanos) {
+        HISTOGRAMS[phase.ordinal()].add(Math.max(0L, nanos));
+    }
+
+    static Phase[] phases() {
+        return PHASES;
+    }
+
+    /** Snapshot of one phase: calls, calls/s since enable/reset, p50/p99/max in nanos. */
+    static Stats stats(Phase phase) {
+        double secs = Math.max(1e-9, (System.nanoTime() - sinceNanos) / 1e9);
+        return HISTOGRAMS[phase.ordinal()].stats(secs);
+    }
+
+    record Stats(long calls, double perSecond, long p50, long p99, long max) {}
+
+    // ------------------------------------------------------------
+    // Histogram
+    // ------------------------------------------------------------
+
+    private static final class Histogram {
+        private final long[] buckets = new long[BUCKETS];
+        private long count;
+        private long max;
+
+        synchronized void add(long v) {
+            buckets[index(v)]++;
+            count++;
+            if (v > max) max = v;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(buckets, 0L);
+            count = 0L;
+            max = 0L;
+        }
+
+        synchronized Stats stats(double secs) {
+            return new Stats(count, count / secs, percentile(0.50), percentile(0.99), max);
+        }
+
+        private long percentile(double q) {
+            if (count == 0L) return 0L;
+            long rank = (long) Math.ceil(q * count);
+            long seen = 0L;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= rank) return Math.min(upper(i), max);
+            }
+            return max;
+        }
+
+        private static int index(long v) {
+            if (v < (1L << SUB_BITS)) return (int) v;
+            int msb = 63 - Long.numberOfLeadingZeros(v);
+            int sub = (int) (v >>> (msb - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+            return ((msb - SUB_BITS + 1) << SUB_BITS) + sub;
+        }
+
+        /** Largest value that lands in bucket {@code i}. */
+        private static long upper(int i) {
+            if (i < (1 << SUB_BITS)) return i;
+            int msb = (i >>> SUB_BITS) + SUB_BITS - 1;
+            long sub = i & ((1 << SUB_BITS) - 1);
+            long lo = (1L << msb) | (sub << (msb - SUB_BITS));
+            return lo + (1L << (msb - SUB_BITS)) - 1;
+        }
+    }
+}
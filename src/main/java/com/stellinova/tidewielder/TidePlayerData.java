@@ -2,56 +2,53 @@ package com.stellinova.tidewielder;
 
 import java.util.UUID;
 
+/**
+ * View over one player's slot in {@link TideStateStore}. Holds no state of its own; every
+ * getter/setter reads or writes the store's arrays, so the view is only valid while the slot
+ * is held.
+ */
 public class TidePlayerData {
 
-    private final UUID id;
+    private final TideStateStore store;
+    private final int slot;
 
-    private long maelstromReadyAt;
-    private long bubbleReadyAt;
-    private long tidepoolReadyAt;
-    private long surgeReadyAt;
-    private long typhoonReadyAt;
-
-    private boolean inBubble;
-    private long bubbleExpiresAt;
-
-    private boolean inTyphoon;
-    private long typhoonActiveUntil;
-    private long typhoonNextBoltAt;
-
-    public TidePlayerData(UUID id) {
-        this.id = id;
+    TidePlayerData(TideStateStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
     }
 
-    public UUID getId() { return id; }
+    public UUID getId() { return store.ids[slot]; }
+
+    public long getMaelstromReadyAt() { return store.readyAt(slot, TideAbility.MAELSTROM); }
+    public void setMaelstromReadyAt(long maelstromReadyAt) { store.setReadyAt(slot, TideAbility.MAELSTROM, maelstromReadyAt); }
 
-    public long getMaelstromReadyAt() { return maelstromReadyAt; }
-    public void setMaelstromReadyAt(long maelstromReadyAt) { this.maelstromReadyAt = maelstromReadyAt; }
+    public long getBubbleReadyAt() { return store.readyAt(slot, TideAbility.BUBBLE); }
+    public void setBubbleReadyAt(long bubbleReadyAt) { store.setReadyAt(slot, TideAbility.BUBBLE, bubbleReadyAt); }
 
-    public long getBubbleReadyAt() { return bubbleReadyAt; }
-    public void setBubbleReadyAt(long bubbleReadyAt) { this.bubbleReadyAt = bubbleReadyAt; }
+    public long getTidepoolReadyAt() { return store.readyAt(slot, TideAbility.TIDEPOOL); }
+    public void setTidepoolReadyAt(long tidepoolReadyAt) { store.setReadyAt(slot, TideAbility.TIDEPOOL, tidepoolReadyAt); }
 
-    public long getTidepoolReadyAt() { return tidepoolReadyAt; }
-    public void setTidepoolReadyAt(long tidepoolReadyAt) { this.tidepoolReadyAt = tidepoolReadyAt; }
+    public long getSurgeReadyAt() { return store.readyAt(slot, TideAbility.SURGE); }
+    public void setSurgeReadyAt(long surgeReadyAt) { store.setReadyAt(slot, TideAbility.SURGE, surgeReadyAt); }
 
-    public long getSurgeReadyAt() { return surgeReadyAt; }
-    public void setSurgeReadyAt(long surgeReadyAt) { this.surgeReadyAt = surgeReadyAt; }
+    public long getTyphoonReadyAt() { return store.readyAt(slot, TideAbility.TYPHOON); }
+    public void setTyphoonReadyAt(long typhoonReadyAt) { store.setReadyAt(slot, TideAbility.TYPHOON, typhoonReadyAt); }
 
-    public long getTyphoonReadyAt() { return typhoonReadyAt; }
-    public void setTyphoonReadyAt(long typhoonReadyAt) { this.typhoonReadyAt = typhoonReadyAt; }
+    public long getReadyAt(TideAbility a) { return store.readyAt(slot, a); }
+    public void setReadyAt(TideAbility a, long readyAt) { store.setReadyAt(slot, a, readyAt); }
 
-    public boolean isInBubble() { return inBubble; }
-    public void setInBubble(boolean inBubble) { this.inBubble = inBubble; }
+    public boolean isInBubble() { return store.inBubble[slot]; }
+    public void setInBubble(boolean inBubble) { store.inBubble[slot] = inBubble; }
 
-    public long getBubbleExpiresAt() { return bubbleExpiresAt; }
-    public void setBubbleExpiresAt(long bubbleExpiresAt) { this.bubbleExpiresAt = bubbleExpiresAt; }
+    public long getBubbleExpiresAt() { return store.bubbleUntil[slot]; }
+    public void setBubbleExpiresAt(long bubbleExpiresAt) { store.bubbleUntil[slot] = bubbleExpiresAt; }
 
-    public boolean isInTyphoon() { return inTyphoon; }
-    public void setInTyphoon(boolean inTyphoon) { this.inTyphoon = inTyphoon; }
+    public boolean isInTyphoon() { return store.inTyphoon[slot]; }
+    public void setInTyphoon(boolean inTyphoon) { store.inTyphoon[slot] = inTyphoon; }
 
-    public long getTyphoonActiveUntil() { return typhoonActiveUntil; }
-    public void setTyphoonActiveUntil(long typhoonActiveUntil) { this.typhoonActiveUntil = typhoonActiveUntil; }
+    public long getTyphoonActiveUntil() { return store.typhoonUntil[slot]; }
+    public void setTyphoonActiveUntil(long typhoonActiveUntil) { store.typhoonUntil[slot] = typhoonActiveUntil; }
 
-    public long getTyphoonNextBoltAt() { return typhoonNextBoltAt; }
-    public void setTyphoonNextBoltAt(long typhoonNextBoltAt) { this.typhoonNextBoltAt = typhoonNextBoltAt; }
+    public long getTyphoonNextBoltAt() { return store.typhoonNextBolt[slot]; }
+    public void setTyphoonNextBoltAt(long typhoonNextBoltAt) { store.typhoonNextBolt[slot] = typhoonNextBoltAt; }
 }
@@ -0,0 +1,44 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+/**
+ * Where TideWielder work runs. Every repeating task goes through here, and work that touches a
+ * particular entity or block position is handed to the thread that owns it.
+ *
+ * On a normal server everything is owned by the main thread ({@link TideMainScheduler}), so
+ * {@code owns} is always true there and {@code run} executes inline. On Folia
+ * ({@link TideFoliaScheduler}) repeating tasks run on the global region thread while events
+ * fire on the region thread that owns the player, so callers check {@code owns} first and only
+ * pay for a hand-off when the work really belongs to another thread.
+ *
+ * Because of that, TideManager state is not confined to one thread: the tick and the event
+ * handlers share it under the state store's monitor (see {@link TideStateStore}), and TideFx
+ * guards its own. Only entity and world side effects are dispatched.
+ */
+interface TideScheduler {
+
+    /** Handle for a repeating task. */
+    interface Task {
+        void cancel();
+    }
+
+    /** Repeats {@code task} on the owner thread (the main thread on a normal server). */
+    Task repeat(Runnable task, long delayTicks, long periodTicks);
+
+    /** Repeats {@code task} off every game thread; it must not touch entities or worlds. */
+    Task repeatAsync(Runnable task, long delayTicks, long periodTicks);
+
+    /** True if the current thread may touch {@code e}. */
+    boolean owns(Entity e);
+
+    /** True if the current thread may touch the world at block (x, z). */
+    boolean owns(World w, double x, double z);
+
+    /** Runs {@code task} on the thread that owns {@code e}; inline when that is this thread. */
+    void run(Entity e, Runnable task);
+
+    /** Runs {@code task} on the thread that owns the world at (x, z); inline when that is this thread. */
+    void run(World w, double x, double z, Runnable task);
+}
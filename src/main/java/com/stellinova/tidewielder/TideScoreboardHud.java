@@ -5,31 +5,53 @@ import com.example.evo.api.IEvoService;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.scoreboard.Criteria;
 import org.bukkit.scoreboard.DisplaySlot;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.ScoreboardManager;
+import org.bukkit.scoreboard.Team;
 
-public class TideScoreboardHud {
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TideScoreboardHud implements Listener {
+
+    private static final int LINES = 11;
+    private static final int TOP_SCORE = 12;
 
     private final TideWielderPlugin plugin;
     private final TideManager manager;
     @SuppressWarnings("unused")
     private final IEvoService evo; // reserved for direct EvoCore use
 
-    private BukkitTask loop;
+    // Concurrent: under a region-threaded scheduler each player refreshes on their own thread
+    private final Map<UUID, Board> boards = new ConcurrentHashMap<>();
+
+    private final TideScheduler scheduler;
+    private TideScheduler.Task loop;
 
     public TideScoreboardHud(TideWielderPlugin plugin, TideManager manager, IEvoService evo) {
         this.plugin = plugin;
         this.manager = manager;
         this.evo = evo;
+        this.scheduler = plugin.getTideScheduler();
+        Bukkit.getPluginManager().registerEvents(this, plugin);
         startLoop();
     }
 
     public void shutdown() {
+        stopLoop();
+        boards.clear();
+        HandlerList.unregisterAll(this);
+    }
+
+    private void stopLoop() {
         try {
             if (loop != null) {
                 loop.cancel();
@@ -39,17 +61,22 @@ public class TideScoreboardHud {
     }
 
     private void startLoop() {
-        shutdown();
-        loop = new BukkitRunnable() {
-            @Override
-            public void run() {
-                for (Player p : Bukkit.getOnlinePlayers()) {
-                    try {
-                        refresh(p);
-                    } catch (Throwable ignored) {}
-                }
+        stopLoop();
+        loop = scheduler.repeat(() -> {
+            for (Player p : Bukkit.getOnlinePlayers()) {
+                if (scheduler.owns(p)) refreshTimed(p);
+                else scheduler.run(p, () -> refreshTimed(p));
             }
-        }.runTaskTimer(plugin, 1L, 10L); // ~0.5s
+        }, 1L, 10L); // ~0.5s
+    }
+
+    private void refreshTimed(Player p) {
+        long t0 = TidePerf.start();
+        try {
+            refresh(p);
+        } catch (Throwable ignored) {}
+        TidePerf.stop(TidePerf.Phase.HUD_REFRESH, t0);
+        TideMetrics.hudRefresh();
     }
 
     public void refresh(Player p) {
@@ -58,66 +85,115 @@ public class TideScoreboardHud {
 
         // Hide HUD if they don't currently have the rune
         if (!TideAccessBridge.canUseTide(p)) {
-            Scoreboard current = p.getScoreboard();
-            Objective existing = current.getObjective("tidehud");
-            if (existing != null && existing.getDisplaySlot() == DisplaySlot.SIDEBAR) {
-                Scoreboard empty = sm.getNewScoreboard();
-                p.setScoreboard(empty);
+            Board board = boards.remove(p.getUniqueId());
+            if (board != null && p.getScoreboard() == board.sb) {
+                p.setScoreboard(sm.getMainScoreboard());
             }
             return;
         }
 
-        Scoreboard sb = sm.getNewScoreboard();
-        Objective obj = sb.registerNewObjective("tidehud", Criteria.DUMMY, ChatColor.AQUA + "TideWielder");
-        obj.setDisplaySlot(DisplaySlot.SIDEBAR);
+        Board board = boards.get(p.getUniqueId());
+        if (board == null) {
+            board = new Board(sm.getNewScoreboard());
+            boards.put(p.getUniqueId(), board);
+        }
 
-        TidePlayerData d = manager.data(p);
+        // find() neither allocates a slot nor writes the store, so this is safe off the tick thread
+        TideStateStore st = manager.state();
+        int s = st.find(p.getUniqueId());
         long now = System.currentTimeMillis();
-        int evoLvl = Math.max(0, Math.min(3, TideEvoBridge.evo(p)));
+        int evoLvl = TideEvoBridge.profile(p).level();
+        TideSpecs specs = manager.specs();
 
-        long maelstromLeft = Math.max(0L, d.getMaelstromReadyAt() - now);
-        long bubbleLeft    = Math.max(0L, d.getBubbleReadyAt() - now);
-        long tidepoolLeft  = Math.max(0L, d.getTidepoolReadyAt() - now);
-        long surgeLeft     = Math.max(0L, d.getSurgeReadyAt() - now);
-        long typhoonLeft   = Math.max(0L, d.getTyphoonReadyAt() - now);
+        long maelstromLeft = left(st, s, TideAbility.MAELSTROM, now);
+        long bubbleLeft    = left(st, s, TideAbility.BUBBLE, now);
+        long tidepoolLeft  = left(st, s, TideAbility.TIDEPOOL, now);
+        long surgeLeft     = left(st, s, TideAbility.SURGE, now);
+        long typhoonLeft   = left(st, s, TideAbility.TYPHOON, now);
 
-        int score = 12;
+        int line = 0;
 
-        add(obj, ChatColor.LIGHT_PURPLE + "EVO: " + ChatColor.AQUA + evoLvl, score--);
+        board.set(line++, ChatColor.LIGHT_PURPLE + "EVO: " + ChatColor.AQUA + evoLvl);
 
         // Winder-style: one “big” stat (like jump) + three “normal” stats (like dash/pull/dive)
 
         // Maelstrom (main control ability — maps to Winder's jump bonus)
-        add(obj, abilityHeader("Maelstrom", maelstromLeft), score--);
-        add(obj, statLine("Control", percent(abilityBonusPct(evoLvl, "maelstrom"))), score--);
+        board.set(line++, abilityHeader("Maelstrom", maelstromLeft));
+        board.set(line++, statLine("Control", specs.get(TideAbility.MAELSTROM, evoLvl).bonusText()));
 
         // Bubble (prison) — normal bonus
-        add(obj, abilityHeader("Bubble", bubbleLeft), score--);
-        add(obj, statLine("Prison", percent(abilityBonusPct(evoLvl, "bubble"))), score--);
+        board.set(line++, abilityHeader("Bubble", bubbleLeft));
+        board.set(line++, statLine("Prison", specs.get(TideAbility.BUBBLE, evoLvl).bonusText()));
 
         // Tidepool (zone) — normal bonus
-        add(obj, abilityHeader("Tidepool", tidepoolLeft), score--);
-        add(obj, statLine("Zone", percent(abilityBonusPct(evoLvl, "tidepool"))), score--);
+        board.set(line++, abilityHeader("Tidepool", tidepoolLeft));
+        board.set(line++, statLine("Zone", specs.get(TideAbility.TIDEPOOL, evoLvl).bonusText()));
 
         // Surge (wave) — normal bonus
-        add(obj, abilityHeader("Surge", surgeLeft), score--);
-        add(obj, statLine("Wave", percent(abilityBonusPct(evoLvl, "surge"))), score--);
+        board.set(line++, abilityHeader("Surge", surgeLeft));
+        board.set(line++, statLine("Wave", specs.get(TideAbility.SURGE, evoLvl).bonusText()));
 
-        add(obj, ChatColor.GRAY + "", score--);
+        board.set(line++, ChatColor.GRAY + "");
 
-        add(obj, typhoonLine(evoLvl, typhoonLeft), score--);
+        board.set(line, typhoonLine(specs.get(TideAbility.TYPHOON, evoLvl).unlocked(), typhoonLeft));
 
-        p.setScoreboard(sb);
+        if (p.getScoreboard() != board.sb) p.setScoreboard(board.sb);
     }
 
-    // ---------- helpers ----------
+    int boardCount() {
+        return boards.size();
+    }
+
+    /** Drops the cached sidebar so the next refresh builds and sends every line again. */
+    public void rebuild(Player p) {
+        boards.remove(p.getUniqueId());
+        refresh(p);
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent e) {
+        boards.remove(e.getPlayer().getUniqueId());
+    }
 
-    private static void add(Objective obj, String text, int score) {
-        String line = trim(text);
-        while (obj.getScoreboard().getEntries().contains(line)) {
-            line += ChatColor.RESET;
+    // ---------- board ----------
+
+    /**
+     * One long-lived sidebar per player. Each line is a fixed score slot whose entry is an
+     * invisible colour code; the visible text lives in that entry's team prefix, so a refresh
+     * only has to push the prefixes that actually changed.
+     */
+    private static final class Board {
+        final Scoreboard sb;
+        final Team[] teams = new Team[LINES];
+        final String[] shown = new String[LINES];
+
+        Board(Scoreboard sb) {
+            this.sb = sb;
+            Objective obj = sb.registerNewObjective("tidehud", Criteria.DUMMY, ChatColor.AQUA + "TideWielder");
+            obj.setDisplaySlot(DisplaySlot.SIDEBAR);
+
+            ChatColor[] colors = ChatColor.values();
+            for (int i = 0; i < LINES; i++) {
+                String entry = colors[i].toString() + ChatColor.RESET;
+                Team t = sb.registerNewTeam("tidehud_" + i);
+                t.addEntry(entry);
+                teams[i] = t;
+                obj.getScore(entry).setScore(TOP_SCORE - i);
+            }
+        }
+
+        void set(int line, String text) {
+            String s = trim(text);
+            if (s.equals(shown[line])) return;
+            teams[line].setPrefix(s);
+            shown[line] = s;
         }
-        obj.getScore(line).setScore(score);
+    }
+
+    // ---------- helpers ----------
+
+    private static long left(TideStateStore st, int slot, TideAbility a, long now) {
+        return slot < 0 ? 0L : Math.max(0L, st.readyAt(slot, a) - now);
     }
 
     private static String abilityHeader(String name, long msLeft) {
@@ -130,8 +206,8 @@ public class TideScoreboardHud {
         return ChatColor.AQUA + "  " + label + ChatColor.WHITE + ": " + value;
     }
 
-    private static String typhoonLine(int evoLvl, long msLeft) {
-        if (evoLvl < 3) {
+    private static String typhoonLine(boolean unlocked, long msLeft) {
+        if (!unlocked) {
             return ChatColor.AQUA + "Typhoon Ascent" + ChatColor.WHITE + ": " + ChatColor.RED + "Locked";
         }
         if (msLeft <= 0) {
@@ -141,36 +217,6 @@ public class TideScoreboardHud {
         return ChatColor.RED + "Typhoon Ascent" + ChatColor.WHITE + ": " + ChatColor.YELLOW + sec + "s";
     }
 
-    /** Returns +percent value as text, e.g., +35%. Input expects fractional (0.35). */
-    private static String percent(double frac) {
-        int pct = (int) Math.round(frac * 100.0);
-        return (pct >= 0 ? "+" : "") + pct + "%";
-    }
-
-    /** Matches Winder's curve: Evo 0..3 => factors 0..3 with bonuses per key. */
-    private static double abilityBonusPct(int evo, String key) {
-        int factor = switch (evo) {
-            case 1 -> 1;
-            case 2 -> 2;
-            case 3 -> 3;
-            default -> 0;
-        };
-
-        String k = key == null ? "" : key.toLowerCase(java.util.Locale.ROOT);
-
-        double bonus = switch (k) {
-            // Main control ability — like Winder "jump": 0.35 * factor
-            case "maelstrom" -> 0.35 * factor;
-
-            // Other actives — like Winder "dash/pull/dive": 0.25 * factor
-            case "bubble", "tidepool", "surge" -> 0.25 * factor;
-
-            default -> 0.0;
-        };
-
-        return bonus; // fractional (e.g., 0.35, 0.75, 1.05)
-    }
-
     private static String trim(String s) {
         if (s == null) return "";
         if (s.length() <= 40) return s;
@@ -0,0 +1,301 @@
+package com.stellinova.tidewielder;
+
+import com.stellinova.tidewielder.TideFx.Priority;
+import org.bukkit.Particle;
+import org.bukkit.World;
+
+/**
+ * Precomputed particle geometry for the ability FX.
+ *
+ * Every shape stores its points as plain offset arrays built once at class load (per Evo
+ * level where the geometry depends on it), so casting only does a multiply-add per point and
+ * hands raw coordinates to {@link TideFx} — no trig and no Location clones. Each emit is one
+ * TideFx effect, so viewers are looked up once per shape rather than once per point.
+ */
+final class TideShapes {
+
+    private TideShapes() {}
+
+    private static final double TAU = 2 * Math.PI;
+
+    // Maelstrom — three swirling rings, horizontal offsets in units of the cast radius
+    static final Shape MAELSTROM_RINGS = maelstromRings();
+    // Maelstrom — sparse vertical vortex column, horizontal offsets in units of the cast radius
+    static final Shape MAELSTROM_VORTEX = maelstromVortex();
+
+    // Bubble — rising spiral, one per Evo level (radius grows with Evo)
+    static final Shape[] BUBBLE_SPIRAL = { bubbleSpiral(0), bubbleSpiral(1), bubbleSpiral(2), bubbleSpiral(3) };
+    // Bubble — cage around the capture area, horizontal offsets in units of the capture radius
+    static final Shape BUBBLE_CAGE = bubbleCage();
+
+    // Tidepool — pulsing ground sigil
+    static final Shape TIDEPOOL_SIGIL = tidepoolSigil();
+
+    // Surge — wave arc in (forward, up, lateral) coordinates, one per Evo level
+    static final Shape[] SURGE_WAVE = { surgeWave(0), surgeWave(1), surgeWave(2), surgeWave(3) };
+
+    // Typhoon — initial storm ring and the spinning pulse spiral (unit radius)
+    static final Shape TYPHOON_STORM = typhoonStorm();
+    static final Shape TYPHOON_SPIRAL = ring(20, 1.0, 0.0, 0.0, 0);
+
+    // ------------------------------------------------------------
+    // Shape
+    // ------------------------------------------------------------
+
+    /**
+     * Immutable point set. {@code accent} marks the subset of points that also get a
+     * secondary particle (every 4th ring point, last wave row, ...).
+     */
+    static final class Shape {
+        final double[] x;
+        final double[] y;
+        final double[] z;
+        final boolean[] accent;
+
+        Shape(double[] x, double[] y, double[] z, boolean[] accent) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.accent = accent;
+        }
+
+        int size() {
+            return x.length;
+        }
+
+        /** Emits every point around the origin; x/z are multiplied by {@code hScale}. */
+        void emit(TideFx fx, World w, Priority pr, Particle particle, double ox, double oy, double oz, double hScale,
+                  int count, double dx, double dy, double dz, double extra) {
+            fx.begin(w, ox, oy, oz);
+            try {
+                for (int i = 0; i < x.length; i++) {
+                    fx.particle(w, pr, particle, ox + x[i] * hScale, oy + y[i], oz + z[i] * hScale,
+                            count, dx, dy, dz, extra);
+                }
+            } finally {
+                fx.end();
+            }
+        }
+
+        /** Same as {@link #emit} but only for the accent points. */
+        void emitAccent(TideFx fx, World w, Priority pr, Particle particle, double ox, double oy, double oz, double hScale,
+                        int count, double dx, double dy, double dz, double extra) {
+            fx.begin(w, ox, oy, oz);
+            try {
+                for (int i = 0; i < x.length; i++) {
+                    if (!accent[i]) continue;
+                    fx.particle(w, pr, particle, ox + x[i] * hScale, oy + y[i], oz + z[i] * hScale,
+                            count, dx, dy, dz, extra);
+                }
+            } finally {
+                fx.end();
+            }
+        }
+
+        /** Emits the shape rotated around the Y axis by the angle whose cos/sin are given. */
+        void emitRotated(TideFx fx, World w, Priority pr, Particle particle, double ox, double oy, double oz, double hScale,
+                         double cos, double sin, int count, double dx, double dy, double dz, double extra) {
+            fx.begin(w, ox, oy, oz);
+            try {
+                for (int i = 0; i < x.length; i++) {
+                    double rx = x[i] * cos - z[i] * sin;
+                    double rz = x[i] * sin + z[i] * cos;
+                    fx.particle(w, pr, particle, ox + rx * hScale, oy + y[i], oz + rz * hScale,
+                            count, dx, dy, dz, extra);
+                }
+            } finally {
+                fx.end();
+            }
+        }
+
+        /**
+         * Emits a shape stored as (forward, up, lateral) coefficients along a facing direction.
+         * {@code (hx, hy, hz)} is the unit facing vector, {@code (lx, lz)} the horizontal unit
+         * vector to its side.
+         */
+        void emitFramed(TideFx fx, World w, Priority pr, Particle particle, double ox, double oy, double oz,
+                        double hx, double hy, double hz, double lx, double lz, boolean accentOnly,
+                        int count, double dx, double dy, double dz, double extra) {
+            fx.begin(w, ox, oy, oz);
+            try {
+                for (int i = 0; i < x.length; i++) {
+                    if (accentOnly && !accent[i]) continue;
+                    double f = x[i];
+                    double l = z[i];
+                    fx.particle(w, pr, particle, ox + hx * f + lx * l, oy + hy * f + y[i], oz + hz * f + lz * l,
+                            count, dx, dy, dz, extra);
+                }
+            } finally {
+                fx.end();
+            }
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Builders (run once)
+    // ------------------------------------------------------------
+
+    /** Single ring; every {@code accentEvery}-th point is an accent (0 = none). */
+    private static Shape ring(int points, double radius, double y, double phase, int accentEvery) {
+        double[] xs = new double[points];
+        double[] ys = new double[points];
+        double[] zs = new double[points];
+        boolean[] acc = new boolean[points];
+        for (int i = 0; i < points; i++) {
+            double angle = TAU * i / points + phase;
+            xs[i] = Math.cos(angle) * radius;
+            ys[i] = y;
+            zs[i] = Math.sin(angle) * radius;
+            acc[i] = accentEvery > 0 && i % accentEvery == 0;
+        }
+        return new Shape(xs, ys, zs, acc);
+    }
+
+    private static Shape maelstromRings() {
+        int rings = 3;
+        int points = 28;
+        int n = rings * points;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] zs = new double[n];
+        boolean[] acc = new boolean[n];
+        int k = 0;
+        for (int r = 0; r < rings; r++) {
+            double ringRadius = 0.4 + r * 0.2;
+            double yOffset = 0.5 + 0.4 * r;
+            for (int i = 0; i < points; i++, k++) {
+                double angle = (TAU * i / points) + (r * 0.7);
+                xs[k] = Math.cos(angle) * ringRadius;
+                ys[k] = yOffset;
+                zs[k] = Math.sin(angle) * ringRadius;
+                acc[k] = i % 4 == 0;
+            }
+        }
+        return new Shape(xs, ys, zs, acc);
+    }
+
+    private static Shape maelstromVortex() {
+        int n = 0;
+        for (double y = 0; y <= 3.0; y += 0.35) n++;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] zs = new double[n];
+        int k = 0;
+        for (double y = 0; y <= 3.0; y += 0.35, k++) {
+            double scale = 0.7 + (y / 3.0);
+            double angle = y * 2.5;
+            xs[k] = Math.cos(angle) * 0.25 * scale;
+            ys[k] = y;
+            zs[k] = Math.sin(angle) * 0.25 * scale;
+        }
+        return new Shape(xs, ys, zs, new boolean[n]);
+    }
+
+    private static Shape bubbleSpiral(int evoLvl) {
+        int steps = 20;
+        double r = 1.2 + (evoLvl * 0.1);
+        double[] xs = new double[steps];
+        double[] ys = new double[steps];
+        double[] zs = new double[steps];
+        boolean[] acc = new boolean[steps];
+        for (int i = 0; i < steps; i++) {
+            double t = i / (double) steps;
+            double angle = t * Math.PI * 4;
+            xs[i] = Math.cos(angle) * r;
+            ys[i] = 0.3 + t * 3.0;
+            zs[i] = Math.sin(angle) * r;
+            acc[i] = i % 3 == 0;
+        }
+        return new Shape(xs, ys, zs, acc);
+    }
+
+    private static Shape bubbleCage() {
+        int ringPoints = 26;
+        int layers = 0;
+        for (double y = 0.5; y <= 3.0; y += 0.75) layers++;
+        int n = ringPoints * layers;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] zs = new double[n];
+        int k = 0;
+        for (int i = 0; i < ringPoints; i++) {
+            double angle = TAU * i / ringPoints;
+            double x = Math.cos(angle);
+            double z = Math.sin(angle);
+            for (double y = 0.5; y <= 3.0; y += 0.75, k++) {
+                xs[k] = x;
+                ys[k] = y;
+                zs[k] = z;
+            }
+        }
+        return new Shape(xs, ys, zs, new boolean[n]);
+    }
+
+    private static Shape tidepoolSigil() {
+        double maxR = 3.0;
+        int points = 28;
+        int n = 3 * points;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] zs = new double[n];
+        boolean[] acc = new boolean[n];
+        int k = 0;
+        for (int ring = 0; ring < 3; ring++) {
+            double r = maxR * (0.3 + 0.2 * ring);
+            double y = 0.05 + 0.02 * ring;
+            for (int i = 0; i < points; i++, k++) {
+                double angle = TAU * i / points;
+                xs[k] = Math.cos(angle) * r;
+                ys[k] = y;
+                zs[k] = Math.sin(angle) * r;
+                acc[k] = ring == 0 && i % 4 == 0;
+            }
+        }
+        return new Shape(xs, ys, zs, acc);
+    }
+
+    private static Shape surgeWave(int evoLvl) {
+        int waveSteps = 4;
+        int sideSamples = 10;
+        int perRow = 2 * sideSamples + 1;
+        int n = waveSteps * perRow;
+        double[] fs = new double[n];
+        double[] ys = new double[n];
+        double[] ls = new double[n];
+        boolean[] acc = new boolean[n];
+        double spread = 1.2 * (1 + 0.08 * evoLvl);
+        int k = 0;
+        for (int step = 1; step <= waveSteps; step++) {
+            double dist = 1.6 * step;
+            for (int i = -sideSamples; i <= sideSamples; i++, k++) {
+                fs[k] = dist;
+                ys[k] = 0.2;
+                ls[k] = (i / (double) sideSamples) * spread;
+                acc[k] = step == waveSteps && Math.abs(i) % 3 == 0;
+            }
+        }
+        return new Shape(fs, ys, ls, acc);
+    }
+
+    private static Shape typhoonStorm() {
+        int pts = 28;
+        int n = 3 * pts;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] zs = new double[n];
+        boolean[] acc = new boolean[n];
+        int k = 0;
+        for (int layer = 0; layer < 3; layer++) {
+            double r = 2.0 + layer * 0.8;
+            double y = layer * 0.4;
+            for (int i = 0; i < pts; i++, k++) {
+                double ang = TAU * i / pts;
+                xs[k] = Math.cos(ang) * r;
+                ys[k] = y;
+                zs[k] = Math.sin(ang) * r;
+                acc[k] = layer == 2 && i % 4 == 0;
+            }
+        }
+        return new Shape(xs, ys, zs, acc);
+    }
+}
@@ -0,0 +1,167 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable set of ability specs for every Evo level, compiled once from the
+ * {@code abilities} config section. TideManager holds the current set in a volatile field and
+ * /tide reload swaps in a new one; cooldowns and effects are absolute timestamps, so nothing
+ * in flight is touched by a swap.
+ *
+ * Per-level keys accept a single value or a list indexed by Evo level (0..3); a short list
+ * repeats its last entry. Missing keys fall back to the built-in defaults below.
+ */
+final class TideSpecs {
+
+    static final int MAX_LEVEL = 3;
+    private static final int LEVELS = MAX_LEVEL + 1;
+
+    private final TideAbilitySpec[][] specs;
+    private final long echoDurationMs;
+    private final double echoScale;
+    private final int typhoonUnlockLevel;
+
+    private TideSpecs(TideAbilitySpec[][] specs, long echoDurationMs, double echoScale, int typhoonUnlockLevel) {
+        this.specs = specs;
+        this.echoDurationMs = echoDurationMs;
+        this.echoScale = echoScale;
+        this.typhoonUnlockLevel = typhoonUnlockLevel;
+    }
+
+    TideAbilitySpec get(TideAbility a, int level) {
+        return specs[a.ordinal()][Math.max(0, Math.min(MAX_LEVEL, level))];
+    }
+
+    /** How long Tide Echo stays active after a cast. */
+    long echoDurationMs() {
+        return echoDurationMs;
+    }
+
+    /** Multiplier Tide Echo applies to Surge force and Typhoon duration. */
+    double echoScale() {
+        return echoScale;
+    }
+
+    int typhoonUnlockLevel() {
+        return typhoonUnlockLevel;
+    }
+
+    // ------------------------------------------------------------
+    // Compile
+    // ------------------------------------------------------------
+
+    /** Builds a spec set; a null section yields the defaults. */
+    static TideSpecs load(ConfigurationSection root) {
+        double[] cdr = perLevel(root, "cooldown-reduction", levels(1.00, 0.90, 0.75, 0.55));
+
+        ConfigurationSection echo = root == null ? null : root.getConfigurationSection("echo");
+        long echoMs = (long) Math.max(0.0, scalar(echo, "duration-ms", 4000));
+        double echoScale = scalar(echo, "scale", 1.25);
+
+        TideAbilitySpec[][] out = new TideAbilitySpec[TideAbility.COUNT][];
+        //                                                      cooldown  hunger radius force
+        //                                                      duration-ticks  amplifier  echo-ticks
+        //                                                      interval-ms damage  enhanced-from unlock-level  hud-bonus
+        out[TideAbility.MAELSTROM.ordinal()] = compile(root, TideAbility.MAELSTROM, cdr, 15_000, 2, 6.0, fill(0.0),
+                fill(40), levels(1, 1, 2, 2), fill(20),
+                0, 0.0, 2, 0, levels(0.0, 0.35, 0.70, 1.05));
+        out[TideAbility.BUBBLE.ordinal()] = compile(root, TideAbility.BUBBLE, cdr, 20_000, 2, 4.0, fill(0.0),
+                levels(60, 90, 120, 150), levels(0, 0, 1, 1), fill(30),
+                0, 0.0, 2, 0, levels(0.0, 0.25, 0.50, 0.75));
+        out[TideAbility.TIDEPOOL.ordinal()] = compile(root, TideAbility.TIDEPOOL, cdr, 15_000, 1, 3.0, fill(0.0),
+                levels(60, 100, 140, 180), fill(2), levels(40, 60, 80, 100),
+                0, 0.0, 2, 0, levels(0.0, 0.25, 0.50, 0.75));
+        out[TideAbility.SURGE.ordinal()] = compile(root, TideAbility.SURGE, cdr, 12_000, 1, 10.0, levels(0.80, 0.92, 1.08, 1.44),
+                fill(40), fill(1), fill(0),
+                0, 0.0, 2, 0, levels(0.0, 0.25, 0.50, 0.75));
+        out[TideAbility.TYPHOON.ordinal()] = compile(root, TideAbility.TYPHOON, cdr, 160_000, 2, 5.0, fill(0.25),
+                fill(80), fill(0), fill(0),
+                350, 0.75, 3, 3, fill(0.0));
+
+        int unlock = (int) scalar(section(root, TideAbility.TYPHOON), "unlock-level", 3);
+        return new TideSpecs(out, echoMs, echoScale, unlock);
+    }
+
+    private static TideAbilitySpec[] compile(ConfigurationSection root, TideAbility a, double[] cdr,
+                                             long cooldown, int hunger, double radius, double[] force,
+                                             double[] duration, double[] amplifier, double[] echoTicks,
+                                             long interval, double damage, int enhancedFrom, int unlockFrom,
+                                             double[] bonus) {
+        ConfigurationSection sec = section(root, a);
+        double[] cd = perLevel(sec, "cooldown-ms", fill(cooldown));
+        double[] hu = perLevel(sec, "hunger", fill(hunger));
+        double[] ra = perLevel(sec, "radius", fill(radius));
+        double[] fo = perLevel(sec, "force", force);
+        double[] du = perLevel(sec, "duration-ticks", duration);
+        double[] am = perLevel(sec, "amplifier", amplifier);
+        double[] ec = perLevel(sec, "echo-ticks", echoTicks);
+        double[] iv = perLevel(sec, "interval-ms", fill(interval));
+        double[] da = perLevel(sec, "damage", fill(damage));
+        double[] bo = perLevel(sec, "hud-bonus", bonus);
+        int enhanced = (int) scalar(sec, "enhanced-from", enhancedFrom);
+        int unlock = (int) scalar(sec, "unlock-level", unlockFrom);
+
+        TideAbilitySpec[] levels = new TideAbilitySpec[LEVELS];
+        for (int l = 0; l < LEVELS; l++) {
+            levels[l] = new TideAbilitySpec(
+                    (long) Math.max(0.0, Math.floor(cd[l] * cdr[l])),
+                    (int) Math.max(0, hu[l]),
+                    Math.max(0.0, ra[l]),
+                    fo[l],
+                    (int) Math.max(0, du[l]),
+                    (int) Math.max(0, am[l]),
+                    (int) Math.max(0, ec[l]),
+                    (long) Math.max(1, iv[l]),
+                    Math.max(0.0, da[l]),
+                    l >= enhanced,
+                    l >= unlock,
+                    percent(bo[l])
+            );
+        }
+        return levels;
+    }
+
+    // ------------------------------------------------------------
+    // Config helpers
+    // ------------------------------------------------------------
+
+    private static ConfigurationSection section(ConfigurationSection root, TideAbility a) {
+        return root == null ? null : root.getConfigurationSection(a.name().toLowerCase(Locale.ROOT));
+    }
+
+    private static double scalar(ConfigurationSection sec, String key, double def) {
+        return sec != null && sec.isSet(key) ? sec.getDouble(key, def) : def;
+    }
+
+    private static double[] perLevel(ConfigurationSection sec, String key, double[] def) {
+        if (sec == null || !sec.isSet(key)) return def;
+        if (sec.isList(key)) {
+            List<Double> list = sec.getDoubleList(key);
+            if (list.isEmpty()) return def;
+            double[] out = new double[LEVELS];
+            for (int l = 0; l < LEVELS; l++) out[l] = list.get(Math.min(l, list.size() - 1));
+            return out;
+        }
+        return fill(sec.getDouble(key));
+    }
+
+    private static double[] fill(double v) {
+        double[] out = new double[LEVELS];
+        Arrays.fill(out, v);
+        return out;
+    }
+
+    private static double[] levels(double l0, double l1, double l2, double l3) {
+        return new double[]{l0, l1, l2, l3};
+    }
+
+    /** +percent text, e.g. +35%, from a fraction (0.35). */
+    private static String percent(double frac) {
+        int pct = (int) Math.round(frac * 100.0);
+        return (pct >= 0 ? "+" : "") + pct + "%";
+    }
+}
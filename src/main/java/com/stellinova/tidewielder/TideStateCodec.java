@@ -0,0 +1,118 @@
+package com.stellinova.tidewielder;
+
+/**
+ * Binary form of a player's persistent Tide state, stored as one PDC byte array.
+ *
+ * Layout (version 1):
+ *   byte    version
+ *   varint  base      — wall-clock ms at encode time
+ *   varint  x5        — per ability (TideAbility order): readyAt - base, 0 = ready
+ *   byte    flags     — bit 0 Bubble, bit 1 Typhoon, bit 2 Tide Echo
+ *   varint  ...       — for each set flag, in bit order: until - base
+ *
+ * Only timestamps still in the future are written, so every delta is a small positive
+ * number and a fully idle player encodes to about 13 bytes.
+ */
+final class TideStateCodec {
+
+    static final int VERSION = 1;
+
+    private static final int F_BUBBLE  = 1;
+    private static final int F_TYPHOON = 1 << 1;
+    private static final int F_ECHO    = 1 << 2;
+
+    // version + base + 5 cooldowns + flags + 3 effects, worst case 10 bytes per varint
+    private static final int MAX_SIZE = 1 + 10 + TideAbility.COUNT * 10 + 1 + 3 * 10;
+
+    private TideStateCodec() {}
+
+    static byte[] encode(TideStateStore st, int slot, long now) {
+        byte[] buf = new byte[MAX_SIZE];
+        int pos = 0;
+        buf[pos++] = (byte) VERSION;
+        pos = putVarLong(buf, pos, now);
+
+        int base = slot * TideAbility.COUNT;
+        for (int i = 0; i < TideAbility.COUNT; i++) {
+            pos = putVarLong(buf, pos, delta(st.readyAt[base + i], now));
+        }
+
+        int flags = 0;
+        if (st.inBubble[slot] && st.bubbleUntil[slot] > now) flags |= F_BUBBLE;
+        if (st.inTyphoon[slot] && st.typhoonUntil[slot] > now) flags |= F_TYPHOON;
+        if (st.echoUntil[slot] > now) flags |= F_ECHO;
+        buf[pos++] = (byte) flags;
+        if ((flags & F_BUBBLE) != 0) pos = putVarLong(buf, pos, st.bubbleUntil[slot] - now);
+        if ((flags & F_TYPHOON) != 0) pos = putVarLong(buf, pos, st.typhoonUntil[slot] - now);
+        if ((flags & F_ECHO) != 0) pos = putVarLong(buf, pos, st.echoUntil[slot] - now);
+
+        byte[] out = new byte[pos];
+        System.arraycopy(buf, 0, out, 0, pos);
+        return out;
+    }
+
+    /**
+     * Merges a blob into the slot, keeping whichever timestamp is later. Entries that already
+     * ran out by {@code now} are skipped. Returns false (and leaves the slot alone) for an
+     * unknown version or a truncated blob.
+     */
+    static boolean decodeInto(byte[] blob, TideStateStore st, int slot, long now) {
+        if (blob == null || blob.length < 2 || blob[0] != VERSION) return false;
+        int[] pos = {1};
+        try {
+            long base = getVarLong(blob, pos);
+            long[] ready = new long[TideAbility.COUNT];
+            for (int i = 0; i < TideAbility.COUNT; i++) {
+                long d = getVarLong(blob, pos);
+                ready[i] = d == 0L ? 0L : base + d;
+            }
+            if (pos[0] >= blob.length) return false;
+            int flags = blob[pos[0]++] & 0xFF;
+            long bubble = (flags & F_BUBBLE) != 0 ? base + getVarLong(blob, pos) : 0L;
+            long typhoon = (flags & F_TYPHOON) != 0 ? base + getVarLong(blob, pos) : 0L;
+            long echo = (flags & F_ECHO) != 0 ? base + getVarLong(blob, pos) : 0L;
+
+            int b = slot * TideAbility.COUNT;
+            for (int i = 0; i < TideAbility.COUNT; i++) {
+                if (ready[i] > now && ready[i] > st.readyAt[b + i]) st.readyAt[b + i] = ready[i];
+            }
+            if (bubble > now && bubble > st.bubbleUntil[slot]) {
+                st.inBubble[slot] = true;
+                st.bubbleUntil[slot] = bubble;
+            }
+            if (typhoon > now && typhoon > st.typhoonUntil[slot]) {
+                st.inTyphoon[slot] = true;
+                st.typhoonUntil[slot] = typhoon;
+            }
+            if (echo > now && echo > st.echoUntil[slot]) st.echoUntil[slot] = echo;
+            return true;
+        } catch (ArrayIndexOutOfBoundsException truncated) {
+            return false;
+        }
+    }
+
+    private static long delta(long at, long now) {
+        return at > now ? at - now : 0L;
+    }
+
+    private static int putVarLong(byte[] buf, int pos, long v) {
+        while ((v & ~0x7FL) != 0L) {
+            buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buf[pos++] = (byte) v;
+        return pos;
+    }
+
+    private static long getVarLong(byte[] buf, int[] pos) {
+        long v = 0L;
+        int shift = 0;
+        while (true) {
+            byte b = buf[pos[0]++];
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+            shift += 7;
+            if (shift > 63) throw new ArrayIndexOutOfBoundsException("varint too long");
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.Location;
+import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Slot-indexed store for every piece of per-player TideWielder state.
+ *
+ * A player gets a dense int slot the first time they are seen (normally on join); after that
+ * one UUID lookup per event reaches everything: cooldowns live in {@link #readyAt} at
+ * {@code slot * TideAbility.COUNT + ability.ordinal()}, and echo, Typhoon, Bubble, input and
+ * bossbar state live in parallel primitive arrays at {@code slot}. Arrays grow by doubling and
+ * freed slots are recycled, so a slot number is only meaningful while it is held — never keep
+ * one (or a {@link TidePlayerData} view) past the event that produced it.
+ *
+ * Fields are package-private on purpose: TideManager reads and writes them directly on the hot
+ * path. Never cache an array reference across calls, a grow() replaces them.
+ *
+ * Every write happens under this store's monitor. TideManager holds it for each event handler
+ * and for the whole tick, which on a region-threaded server run on different threads; slot
+ * allocation and release take it themselves. Readers that do not hold it (async placeholder
+ * requests, HUD refreshes on other regions) may use {@link #find} and
+ * {@link #readyAt(int, TideAbility)}, which tolerate a concurrent grow and at worst see a value
+ * one tick old.
+ */
+final class TideStateStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<UUID, Integer> slotById = new ConcurrentHashMap<>();
+    private int[] free = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int highWater;
+    private int capacity;
+
+    // Identity
+    UUID[] ids;
+    Player[] players;            // null while the owner is offline
+    long[] detachedAt;           // quit time while offline, 0 while online
+    TidePlayerData[] views;
+
+    // Cooldowns: [slot * TideAbility.COUNT + ability]
+    long[] readyAt;
+
+    // Bubble / Typhoon / Tide Echo
+    boolean[] inBubble;
+    long[] bubbleUntil;
+    boolean[] inTyphoon;
+    long[] typhoonUntil;
+    long[] typhoonNextBolt;
+    long[] echoUntil;
+
+    // Input (F taps / sneak tap); deadlines in TickTask ticks, 0 = none
+    long[] firstTapAt;
+    boolean[] firstTapSneak;
+    long[] fTapDeadline;
+    long[] sneakDeadline;
+
+    // Cooldown bossbars, one per running cooldown: [slot * TideAbility.COUNT + ability]
+    // (owned by TideCooldownBars; shown* hold what the client last received)
+    BossBar[] cdBar;
+    long[] cdStart;
+    long[] cdEnd;
+    int[] cdShownTenths;
+    int[] cdShownStep;
+
+    // Action bar channel (owned by TideActionBar); levels are TideActionBar.Level ordinals
+    String[] abPending;
+    int[] abPendingLevel;
+    String[] abShown;
+    int[] abShownLevel;
+    long[] abSentTick;
+    long[] abHoldUntil;
+    boolean[] abQueued;
+    int[] abSlots;
+    int abCount;
+
+    // Legacy Tidal Momentum flow
+    double[] flow;
+    Location[] flowLastLoc;
+    long[] flowLastUpdate;
+    long[] flowLastBurst;
+
+    // Active set: slots TickTask has to visit
+    boolean[] active;
+    int[] activeSlots;
+    int activeCount;
+
+    // Slots with an unresolved tap
+    boolean[] inputQueued;
+    int[] pendingSlots;
+    int pendingCount;
+
+    // Slots whose persisted blob is out of date
+    boolean[] dirty;
+    int[] dirtySlots;
+    int dirtyCount;
+
+    TideStateStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    // ------------------------------------------------------------
+    // Slots
+    // ------------------------------------------------------------
+
+    /** Slot for this player, allocating one on first sight; also re-attaches the live Player. */
+    synchronized int slot(Player p) {
+        UUID id = p.getUniqueId();
+        Integer s = slotById.get(id);
+        int slot;
+        if (s != null) {
+            slot = s;
+        } else {
+            slot = acquire();
+            ids[slot] = id;
+            views[slot] = new TidePlayerData(this, slot);
+            slotById.put(id, slot);
+        }
+        players[slot] = p;
+        detachedAt[slot] = 0L;
+        return slot;
+    }
+
+    /** Slot for this id, or -1 if the player holds none. */
+    int find(UUID id) {
+        Integer s = slotById.get(id);
+        return s == null ? -1 : s;
+    }
+
+    TidePlayerData view(int slot) {
+        return views[slot];
+    }
+
+    /** Marks the owner offline; state stays in the slot until {@link #release}. */
+    synchronized void detach(int slot, long now) {
+        players[slot] = null;
+        detachedAt[slot] = Math.max(1L, now);
+    }
+
+    /** Latest cooldown end across all abilities in the slot. */
+    long lastReadyAt(int slot) {
+        long max = 0L;
+        int base = slot * TideAbility.COUNT;
+        for (int i = 0; i < TideAbility.COUNT; i++) max = Math.max(max, readyAt[base + i]);
+        return max;
+    }
+
+    /** Frees the slot and wipes everything in it. */
+    synchronized void release(int slot) {
+        UUID id = ids[slot];
+        if (id != null) slotById.remove(id);
+        wipe(slot);
+        if (freeCount == free.length) free = Arrays.copyOf(free, free.length * 2);
+        free[freeCount++] = slot;
+    }
+
+    int size() {
+        return slotById.size();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /** Slots held by players who are currently offline (grace period). */
+    int detachedCount() {
+        int n = 0;
+        for (int i = 0; i < highWater; i++) {
+            if (ids[i] != null && players[i] == null) n++;
+        }
+        return n;
+    }
+
+    int freeCount() {
+        return freeCount;
+    }
+
+    synchronized void clear() {
+        slotById.clear();
+        freeCount = 0;
+        highWater = 0;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    // ------------------------------------------------------------
+    // Cooldowns
+    // ------------------------------------------------------------
+
+    long readyAt(int slot, TideAbility a) {
+        long[] r = readyAt;
+        int i = slot * TideAbility.COUNT + a.ordinal();
+        return i < r.length ? r[i] : 0L;
+    }
+
+    void setReadyAt(int slot, TideAbility a, long at) {
+        readyAt[slot * TideAbility.COUNT + a.ordinal()] = at;
+    }
+
+    // ------------------------------------------------------------
+    // Active / pending lists
+    // ------------------------------------------------------------
+
+    void markActive(int slot) {
+        if (active[slot]) return;
+        active[slot] = true;
+        if (activeCount == activeSlots.length) activeSlots = Arrays.copyOf(activeSlots, activeSlots.length * 2);
+        activeSlots[activeCount++] = slot;
+    }
+
+    void queueInput(int slot) {
+        if (inputQueued[slot]) return;
+        inputQueued[slot] = true;
+        if (pendingCount == pendingSlots.length) pendingSlots = Arrays.copyOf(pendingSlots, pendingSlots.length * 2);
+        pendingSlots[pendingCount++] = slot;
+    }
+
+    void markDirty(int slot) {
+        if (dirty[slot]) return;
+        dirty[slot] = true;
+        if (dirtyCount == dirtySlots.length) dirtySlots = Arrays.copyOf(dirtySlots, dirtySlots.length * 2);
+        dirtySlots[dirtyCount++] = slot;
+    }
+
+    // ------------------------------------------------------------
+    // Internals
+    // ------------------------------------------------------------
+
+    private int acquire() {
+        if (freeCount > 0) return free[--freeCount];
+        if (highWater == capacity) grow(capacity * 2);
+        return highWater++;
+    }
+
+    private void wipe(int slot) {
+        ids[slot] = null;
+        players[slot] = null;
+        detachedAt[slot] = 0L;
+        views[slot] = null;
+        int from = slot * TideAbility.COUNT, to = from + TideAbility.COUNT;
+        Arrays.fill(readyAt, from, to, 0L);
+        inBubble[slot] = false;
+        bubbleUntil[slot] = 0L;
+        inTyphoon[slot] = false;
+        typhoonUntil[slot] = 0L;
+        typhoonNextBolt[slot] = 0L;
+        echoUntil[slot] = 0L;
+        firstTapAt[slot] = 0L;
+        firstTapSneak[slot] = false;
+        fTapDeadline[slot] = 0L;
+        sneakDeadline[slot] = 0L;
+        Arrays.fill(cdBar, from, to, null);
+        Arrays.fill(cdStart, from, to, 0L);
+        Arrays.fill(cdEnd, from, to, 0L);
+        abPending[slot] = null;
+        abShown[slot] = null;
+        abHoldUntil[slot] = 0L;
+        flow[slot] = 0.0;
+        flowLastLoc[slot] = null;
+        flowLastUpdate[slot] = 0L;
+        flowLastBurst[slot] = 0L;
+        dirty[slot] = false;
+        // active / inputQueued / dirty / action bar list entries are dropped lazily by their next pass
+    }
+
+    private void allocate(int cap) {
+        capacity = cap;
+        ids = new UUID[cap];
+        players = new Player[cap];
+        detachedAt = new long[cap];
+        views = new TidePlayerData[cap];
+        readyAt = new long[cap * TideAbility.COUNT];
+        inBubble = new boolean[cap];
+        bubbleUntil = new long[cap];
+        inTyphoon = new boolean[cap];
+        typhoonUntil = new long[cap];
+        typhoonNextBolt = new long[cap];
+        echoUntil = new long[cap];
+        firstTapAt = new long[cap];
+        firstTapSneak = new boolean[cap];
+        fTapDeadline = new long[cap];
+        sneakDeadline = new long[cap];
+        cdBar = new BossBar[cap * TideAbility.COUNT];
+        cdStart = new long[cap * TideAbility.COUNT];
+        cdEnd = new long[cap * TideAbility.COUNT];
+        cdShownTenths = new int[cap * TideAbility.COUNT];
+        cdShownStep = new int[cap * TideAbility.COUNT];
+        abPending = new String[cap];
+        abPendingLevel = new int[cap];
+        abShown = new String[cap];
+        abShownLevel = new int[cap];
+        abSentTick = new long[cap];
+        abHoldUntil = new long[cap];
+        abQueued = new boolean[cap];
+        abSlots = new int[cap];
+        abCount = 0;
+        flow = new double[cap];
+        flowLastLoc = new Location[cap];
+        flowLastUpdate = new long[cap];
+        flowLastBurst = new long[cap];
+        active = new boolean[cap];
+        activeSlots = new int[cap];
+        activeCount = 0;
+        inputQueued = new boolean[cap];
+        pendingSlots = new int[cap];
+        pendingCount = 0;
+        dirty = new boolean[cap];
+        dirtySlots = new int[cap];
+        dirtyCount = 0;
+    }
+
+    private void grow(int cap) {
+        capacity = cap;
+        ids = Arrays.copyOf(ids, cap);
+        players = Arrays.copyOf(players, cap);
+        detachedAt = Arrays.copyOf(detachedAt, cap);
+        views = Arrays.copyOf(views, cap);
+        readyAt = Arrays.copyOf(readyAt, cap * TideAbility.COUNT);
+        inBubble = Arrays.copyOf(inBubble, cap);
+        bubbleUntil = Arrays.copyOf(bubbleUntil, cap);
+        inTyphoon = Arrays.copyOf(inTyphoon, cap);
+        typhoonUntil = Arrays.copyOf(typhoonUntil, cap);
+        typhoonNextBolt = Arrays.copyOf(typhoonNextBolt, cap);
+        echoUntil = Arrays.copyOf(echoUntil, cap);
+        firstTapAt = Arrays.copyOf(firstTapAt, cap);
+        firstTapSneak = Arrays.copyOf(firstTapSneak, cap);
+        fTapDeadline = Arrays.copyOf(fTapDeadline, cap);
+        sneakDeadline = Arrays.copyOf(sneakDeadline, cap);
+        cdBar = Arrays.copyOf(cdBar, cap * TideAbility.COUNT);
+        cdStart = Arrays.copyOf(cdStart, cap * TideAbility.COUNT);
+        cdEnd = Arrays.copyOf(cdEnd, cap * TideAbility.COUNT);
+        cdShownTenths = Arrays.copyOf(cdShownTenths, cap * TideAbility.COUNT);
+        cdShownStep = Arrays.copyOf(cdShownStep, cap * TideAbility.COUNT);
+        abPending = Arrays.copyOf(abPending, cap);
+        abPendingLevel = Arrays.copyOf(abPendingLevel, cap);
+        abShown = Arrays.copyOf(abShown, cap);
+        abShownLevel = Arrays.copyOf(abShownLevel, cap);
+        abSentTick = Arrays.copyOf(abSentTick, cap);
+        abHoldUntil = Arrays.copyOf(abHoldUntil, cap);
+        abQueued = Arrays.copyOf(abQueued, cap);
+        flow = Arrays.copyOf(flow, cap);
+        flowLastLoc = Arrays.copyOf(flowLastLoc, cap);
+        flowLastUpdate = Arrays.copyOf(flowLastUpdate, cap);
+        flowLastBurst = Arrays.copyOf(flowLastBurst, cap);
+        active = Arrays.copyOf(active, cap);
+        inputQueued = Arrays.copyOf(inputQueued, cap);
+        dirty = Arrays.copyOf(dirty, cap);
+    }
+}
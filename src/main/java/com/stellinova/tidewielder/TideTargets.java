@@ -0,0 +1,273 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-tick spatial hash of LivingEntities shared by every TideWielder target lookup.
+ *
+ * The world is split into 16-block cells. The first query in a tick that touches a cell only
+ * marks it and asks the world directly (one {@link World#getNearbyEntities} for the query box);
+ * a hash is not worth building for an area nobody else looks at. When a later query in the same
+ * tick overlaps a marked cell, every cell in its range that is not filled yet is filled from one
+ * getNearbyEntities over the range, and every query after that reuses them. Each entity is
+ * stored only in the cell that contains its feet, so results need no de-duplication; queries
+ * look out by the largest hitbox (sideways and below) to catch mobs whose box pokes into the
+ * query from a neighbouring cell.
+ */
+final class TideTargets {
+
+    private static final int    CELL_SHIFT = 4; // 16 blocks
+    private static final double CELL_SIZE  = 1 << CELL_SHIFT;
+    // Largest vanilla hitboxes: ender dragon 16 wide, giant 12 tall
+    private static final double MARGIN_XZ    = 8.0;
+    private static final double MARGIN_BELOW = 12.0;
+
+    private final Map<UUID, Cells> cells = new HashMap<>();
+    private final Location scratch = new Location(null, 0, 0, 0);
+    private final ArrayList<LivingEntity> result = new ArrayList<>();
+
+    private long queries;
+    private long cellFetches;
+    private long directQueries;
+
+    /** Drops all cached cells; called once at the start of every tick. */
+    void nextTick() {
+        for (Cells c : cells.values()) c.clear();
+    }
+
+    void clear() {
+        cells.clear();
+        result.clear();
+    }
+
+    long queries() { return queries; }
+    long cellFetches() { return cellFetches; }
+    long directQueries() { return directQueries; }
+
+    /**
+     * Living entities whose bounding box overlaps the box of half-size (rx, ry, rz) around
+     * {@code c} — the same contract as {@link World#getNearbyEntities} filtered to LivingEntity.
+     * The returned list is reused by the next call, so callers must be done with it by then.
+     */
+    List<LivingEntity> near(Location c, double rx, double ry, double rz) {
+        queries++;
+        World w = c.getWorld();
+        double x = c.getX(), y = c.getY(), z = c.getZ();
+        Cells worldCells = cells.computeIfAbsent(w.getUID(), id -> new Cells());
+
+        int minX = cell(x - rx - MARGIN_XZ), maxX = cell(x + rx + MARGIN_XZ);
+        int minY = cell(y - ry - MARGIN_BELOW), maxY = cell(y + ry);
+        int minZ = cell(z - rz - MARGIN_XZ), maxZ = cell(z + rz + MARGIN_XZ);
+
+        ArrayList<LivingEntity> out = result;
+        out.clear();
+
+        // First query here this tick: mark the cells and ask the world once
+        if (!touched(worldCells, minX, maxX, minY, maxY, minZ, maxZ)) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cy = minY; cy <= maxY; cy++) {
+                    for (int cz = minZ; cz <= maxZ; cz++) worldCells.put(key(cx, cy, cz));
+                }
+            }
+            directQueries++;
+            for (Entity e : w.getNearbyEntities(c, rx, ry, rz)) {
+                if (e instanceof LivingEntity le && le.isValid()) out.add(le);
+            }
+            return out;
+        }
+
+        fill(w, worldCells, minX, maxX, minY, maxY, minZ, maxZ);
+
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    List<LivingEntity> list = worldCells.list(worldCells.find(key(cx, cy, cz)));
+                    for (int i = 0; i < list.size(); i++) {
+                        LivingEntity le = list.get(i);
+                        if (le.isValid() && overlaps(le, x, y, z, rx, ry, rz)) out.add(le);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /** Whether an earlier query this tick marked or filled any of these cells. */
+    private static boolean touched(Cells worldCells, int minX, int maxX, int minY, int maxY, int minZ, int maxZ) {
+        if (worldCells.size == 0) return false;
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    if (worldCells.find(key(cx, cy, cz)) >= 0) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fills every cell of the range that is not filled yet from a single getNearbyEntities over
+     * the whole range. Entities are bucketed by the cell holding their feet; those whose cell is
+     * outside the range, or was filled earlier this tick, are skipped.
+     */
+    private void fill(World w, Cells worldCells, int minX, int maxX, int minY, int maxY, int minZ, int maxZ) {
+        boolean cold = false;
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    int s = worldCells.put(key(cx, cy, cz));
+                    if (worldCells.state[s] == Cells.FILLED) continue;
+                    worldCells.state[s] = Cells.FILLING;
+                    cold = true;
+                }
+            }
+        }
+        if (!cold) return;
+
+        cellFetches++;
+        double hx = (maxX - minX + 1) * CELL_SIZE / 2.0;
+        double hy = (maxY - minY + 1) * CELL_SIZE / 2.0;
+        double hz = (maxZ - minZ + 1) * CELL_SIZE / 2.0;
+        scratch.setWorld(w);
+        scratch.setX(minX * CELL_SIZE + hx);
+        scratch.setY(minY * CELL_SIZE + hy);
+        scratch.setZ(minZ * CELL_SIZE + hz);
+
+        for (Entity e : w.getNearbyEntities(scratch, hx, hy, hz)) {
+            if (!(e instanceof LivingEntity le)) continue;
+            le.getLocation(scratch);
+            int cx = cell(scratch.getX()), cy = cell(scratch.getY()), cz = cell(scratch.getZ());
+            if (cx < minX || cx > maxX || cy < minY || cy > maxY || cz < minZ || cz > maxZ) continue;
+            int s = worldCells.find(key(cx, cy, cz));
+            if (worldCells.state[s] == Cells.FILLING) worldCells.add(s, le);
+        }
+
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    worldCells.state[worldCells.find(key(cx, cy, cz))] = Cells.FILLED;
+                }
+            }
+        }
+    }
+
+    private boolean overlaps(LivingEntity le, double x, double y, double z, double rx, double ry, double rz) {
+        le.getLocation(scratch);
+        double ex = scratch.getX(), ey = scratch.getY(), ez = scratch.getZ();
+        double hw = le.getWidth() / 2.0;
+        return ex + hw >= x - rx && ex - hw <= x + rx
+                && ey + le.getHeight() >= y - ry && ey <= y + ry
+                && ez + hw >= z - rz && ez - hw <= z + rz;
+    }
+
+    private static int cell(double v) {
+        return ((int) Math.floor(v)) >> CELL_SHIFT;
+    }
+
+    private static long key(int cx, int cy, int cz) {
+        return ((long) (cx & 0x1FFFFF) << 42) | ((long) (cy & 0x1FFFFF) << 21) | (cz & 0x1FFFFF);
+    }
+
+    // ------------------------------------------------------------
+    // Cell table
+    // ------------------------------------------------------------
+
+    /**
+     * Open-addressed long-keyed cell table of one world. A slot is live while its generation
+     * matches, so clearing it each tick is one increment; entity lists stay with their slot and
+     * are reused.
+     */
+    private static final class Cells {
+        static final byte MARKED = 0, FILLING = 1, FILLED = 2;
+
+        long[] keys = new long[64];
+        int[] gen = new int[64];
+        byte[] state = new byte[64];
+        Object[] lists = new Object[64];
+        int generation = 1;
+        int size;
+
+        void clear() {
+            size = 0;
+            if (++generation == 0) {
+                Arrays.fill(gen, 0);
+                generation = 1;
+            }
+        }
+
+        /** Slot of {@code key}, or -1. */
+        int find(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; gen[i] == generation; i = (i + 1) & mask) {
+                if (keys[i] == key) return i;
+            }
+            return -1;
+        }
+
+        /** Slot of {@code key}, added as a marked cell if it was not there. */
+        int put(long key) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            for (; gen[i] == generation; i = (i + 1) & mask) {
+                if (keys[i] == key) return i;
+            }
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+                return put(key);
+            }
+            keys[i] = key;
+            gen[i] = generation;
+            state[i] = MARKED;
+            if (lists[i] != null) list(i).clear();
+            size++;
+            return i;
+        }
+
+        void add(int slot, LivingEntity le) {
+            if (lists[slot] == null) lists[slot] = new ArrayList<LivingEntity>();
+            list(slot).add(le);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<LivingEntity> list(int slot) {
+            Object l = lists[slot];
+            return l == null ? List.of() : (List<LivingEntity>) l;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldGen = gen;
+            byte[] oldState = state;
+            Object[] oldLists = lists;
+            int live = generation;
+            int cap = oldKeys.length * 2;
+            keys = new long[cap];
+            gen = new int[cap];
+            state = new byte[cap];
+            lists = new Object[cap];
+            generation = 1;
+            size = 0;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldGen[j] != live) continue;
+                int i = put(oldKeys[j]);
+                state[i] = oldState[j];
+                lists[i] = oldLists[j];
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.stellinova.tidewielder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Two-level hierarchical timing wheel for one-shot expiry work (cooldown ready, echo ended,
+ * Typhoon ended, bubble expired).
+ *
+ * Level 0 has 256 one-tick slots, level 1 has 64 slots of 256 ticks (~13.6 min total);
+ * anything further out waits in an overflow list that is re-examined once per full level-1
+ * turn. {@link #advance} is called once per server tick and only touches the slots that are
+ * due, so nothing is polled per player. The wheel follows the wall clock: each call moves it by
+ * the 50 ms steps that have passed (at most {@code MAX_CATCH_UP} at once), so expiries catch up
+ * after a lag spike instead of drifting behind it. Deadlines are kept in ms as well: a timer
+ * whose slot arrives early is simply re-slotted for the remainder.
+ */
+final class TideTimers {
+
+    private static final long MS_PER_TICK = 50L;
+    private static final int  MAX_CATCH_UP = 40; // slots per call; a longer stall is spread out
+
+    private static final int L0_BITS = 8;
+    private static final int L0_SIZE = 1 << L0_BITS;
+    private static final int L0_MASK = L0_SIZE - 1;
+    private static final int L1_SIZE = 64;
+    private static final int L1_MASK = L1_SIZE - 1;
+    private static final long SPAN   = (long) L0_SIZE * L1_SIZE;
+
+    private final Node[] wheel0 = new Node[L0_SIZE];
+    private final Node[] wheel1 = new Node[L1_SIZE];
+    private final List<Node> overflow = new ArrayList<>();
+
+    private long tick;
+    private long lastMs = Long.MIN_VALUE;
+    private int pending;
+
+    private static final class Node {
+        final long dueMs;
+        final Runnable task;
+        long dueTick;
+        Node next;
+
+        Node(long dueMs, Runnable task) {
+            this.dueMs = dueMs;
+            this.task = task;
+        }
+    }
+
+    int pending() {
+        return pending;
+    }
+
+    /** Runs {@code task} on the first tick at or after wall-clock time {@code atMs}. */
+    void scheduleAt(long atMs, long nowMs, Runnable task) {
+        Node n = new Node(atMs, task);
+        n.dueTick = tick + ticksUntil(atMs, nowMs);
+        pending++;
+        insert(n);
+    }
+
+    void clear() {
+        Arrays.fill(wheel0, null);
+        Arrays.fill(wheel1, null);
+        overflow.clear();
+        pending = 0;
+        lastMs = Long.MIN_VALUE;
+    }
+
+    /** Moves the wheel forward by the time passed since the last call and runs everything that is due. */
+    void advance(long nowMs) {
+        if (lastMs == Long.MIN_VALUE) lastMs = nowMs - MS_PER_TICK;
+        long steps = (nowMs - lastMs) / MS_PER_TICK;
+        if (steps <= 0) return;
+        if (steps > MAX_CATCH_UP) steps = MAX_CATCH_UP;
+        // Keep the sub-tick remainder so slow ticks do not lose time
+        lastMs += steps * MS_PER_TICK;
+        for (long i = 0; i < steps; i++) step(nowMs);
+    }
+
+    private void step(long nowMs) {
+        tick++;
+
+        if ((tick & L0_MASK) == 0) {
+            int slot = (int) ((tick >>> L0_BITS) & L1_MASK);
+            Node n = wheel1[slot];
+            wheel1[slot] = null;
+            while (n != null) {
+                Node next = n.next;
+                insert(n);
+                n = next;
+            }
+            if (slot == 0 && !overflow.isEmpty()) {
+                List<Node> far = new ArrayList<>(overflow);
+                overflow.clear();
+                for (Node o : far) insert(o);
+            }
+        }
+
+        int slot = (int) (tick & L0_MASK);
+        Node n = wheel0[slot];
+        wheel0[slot] = null;
+        while (n != null) {
+            Node next = n.next;
+            if (n.dueMs > nowMs) {
+                // Tick arrived ahead of the wall clock — wait for the remainder
+                n.dueTick = tick + ticksUntil(n.dueMs, nowMs);
+                insert(n);
+            } else {
+                pending--;
+                try { n.task.run(); } catch (Throwable ignored) {}
+            }
+            n = next;
+        }
+    }
+
+    private void insert(Node n) {
+        long delta = n.dueTick - tick;
+        if (delta < 0) {
+            n.dueTick = tick + 1;
+            delta = 1;
+        }
+        if (delta < L0_SIZE) {
+            int slot = (int) (n.dueTick & L0_MASK);
+            n.next = wheel0[slot];
+            wheel0[slot] = n;
+        } else if (delta < SPAN) {
+            int slot = (int) ((n.dueTick >>> L0_BITS) & L1_MASK);
+            n.next = wheel1[slot];
+            wheel1[slot] = n;
+        } else {
+            n.next = null;
+            overflow.add(n);
+        }
+    }
+
+    private static long ticksUntil(long atMs, long nowMs) {
+        long ms = Math.max(0L, atMs - nowMs);
+        return Math.max(1L, (ms + MS_PER_TICK - 1) / MS_PER_TICK);
+    }
+}
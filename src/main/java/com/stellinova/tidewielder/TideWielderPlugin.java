@@ -2,16 +2,35 @@ package com.stellinova.tidewielder;
 
 import com.example.evo.api.IEvoService;
 import org.bukkit.Bukkit;
+import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
 
 public class TideWielderPlugin extends JavaPlugin {
 
+    private TideScheduler scheduler;
     private TideManager manager;
     private TideScoreboardHud hud;
     private IEvoService evo;
 
+    public TideWielderPlugin() {
+        super();
+    }
+
+    /** For running the plugin outside a server (benchmarks, load simulator). */
+    TideWielderPlugin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
     @Override
     public void onEnable() {
+        saveDefaultConfig();
+        if (scheduler == null) {
+            scheduler = TideFoliaScheduler.isFolia() ? new TideFoliaScheduler(this) : new TideMainScheduler(this);
+        }
+
         try {
             evo = Bukkit.getServicesManager().load(IEvoService.class);
         } catch (Throwable ignored) {
@@ -22,6 +41,8 @@ public class TideWielderPlugin extends JavaPlugin {
             TideAccessBridge.init(this);
         } catch (Throwable ignored) {}
 
+        TideEvoBridge.init(evo);
+
         manager = new TideManager(this, evo);
         hud = new TideScoreboardHud(this, manager, evo);
 
@@ -41,16 +62,29 @@ public class TideWielderPlugin extends JavaPlugin {
             try { hud.refresh(p); } catch (Throwable ignored) {}
         });
 
+        TideMetrics.start(this);
+
         getLogger().info("TideWielder enabled.");
     }
 
     @Override
     public void onDisable() {
+        TideMetrics.stop();
         try { if (manager != null) manager.shutdown(); } catch (Throwable ignored) {}
         try { if (hud != null) hud.shutdown(); } catch (Throwable ignored) {}
+        TideEvoBridge.invalidateAll();
         getLogger().info("TideWielder disabled.");
     }
 
+    /** Runs the plugin on {@code s} instead of the server's scheduler; call before onEnable (tests). */
+    void useScheduler(TideScheduler s) {
+        scheduler = s;
+    }
+
+    TideScheduler getTideScheduler() {
+        return scheduler;
+    }
+
     public TideManager getManager() {
         return manager;
     }
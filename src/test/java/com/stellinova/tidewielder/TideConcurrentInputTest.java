@@ -0,0 +1,142 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.World;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The whole plugin under {@link TideRegionScheduler}: players in several regions join, quit,
+ * tap F, tap sneak and hit each other on their own region threads while the tick and the HUD
+ * run on the global thread. Nothing may throw, and no entity may be touched off its owner.
+ */
+class TideConcurrentInputTest {
+
+    private static final int REGIONS = 4;
+    private static final int PER_REGION = 4;
+    private static final int ROUNDS = 480;
+    // One input script per player every CYCLE rounds; the first player of a region relogs every RELOG
+    private static final int CYCLE = 16;
+    private static final int RELOG = 48;
+    private static final long COOLDOWN_MS = 50L;
+
+    private TideStubServer server;
+    private TideRegionScheduler scheduler;
+    private TideWielderPlugin plugin;
+    private World world;
+
+    @BeforeEach
+    void setUp() {
+        server = TideStubServer.start();
+        scheduler = new TideRegionScheduler();
+        Map<String, Object> config = new HashMap<>();
+        config.put("abilities.echo.duration-ms", COOLDOWN_MS);
+        for (TideAbility a : TideAbility.VALUES) {
+            config.put("abilities." + a.name().toLowerCase(Locale.ROOT) + ".cooldown-ms", COOLDOWN_MS);
+        }
+        plugin = server.enable(config, scheduler);
+        world = server.world().world();
+        server.world().guard(scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.world().guard(null);
+        server.disable(plugin);
+        scheduler.awaitIdle();
+        scheduler.close();
+    }
+
+    @Test
+    void handlersOnRegionThreadsRaceTheTickSafely() {
+        TideStubEntity[][] players = new TideStubEntity[REGIONS][PER_REGION];
+
+        for (int round = 0; round < ROUNDS; round++) {
+            int step = round % CYCLE;
+            boolean relog = round % RELOG == RELOG - 1;
+            for (int r = 0; r < REGIONS; r++) {
+                int region = r;
+                TideStubEntity[] here = players[r];
+                double x = x(r, 0);
+                // Not awaited: every region runs its script while the next tick starts
+                scheduler.run(world, x, z(), () -> {
+                    for (int i = 0; i < PER_REGION; i++) {
+                        if (here[i] == null) here[i] = server.join(name(region, i), x(region, i), 64, z(), true);
+                    }
+                    for (int i = 0; i < PER_REGION; i++) input(here, i, step);
+                    if (relog) {
+                        server.quit(here[0]);
+                        here[0] = null;
+                    }
+                });
+            }
+            scheduler.tick();
+        }
+        scheduler.awaitIdle();
+
+        assertTrue(server.failures().isEmpty(), () -> server.failures().toString());
+        assertTrue(scheduler.failures().isEmpty(), () -> scheduler.failures().toString());
+        assertTrue(server.world().violations().isEmpty(), () -> server.world().violations().toString());
+
+        TideManager manager = plugin.getManager();
+        for (TideStubEntity[] here : players) {
+            // The relogging player may have been evicted in between; everyone else kept their slot
+            for (int i = 1; i < PER_REGION; i++) {
+                TidePlayerData d = manager.data(here[i].player());
+                assertTrue(d.getMaelstromReadyAt() > 0L, here[i].name + " never cast Maelstrom");
+                assertTrue(d.getSurgeReadyAt() > 0L, here[i].name + " never cast Surge");
+                assertTrue(d.getTidepoolReadyAt() > 0L, here[i].name + " never cast Tidepool");
+                assertTrue(here[i].damageTaken > 0.0, here[i].name + " was never hit");
+            }
+        }
+
+        TideStateStore st = manager.state();
+        int online = 0;
+        for (TideStubEntity[] here : players) {
+            for (TideStubEntity e : here) if (e != null) online++;
+        }
+        assertEquals(online, server.onlineCount());
+        assertEquals(online, st.size() - st.detachedCount(), "live slots should match the players online");
+    }
+
+    /** One step of a player's script: double tap, sneak tap, single tap, then a hit on a neighbour. */
+    private void input(TideStubEntity[] here, int i, int step) {
+        TideStubEntity p = here[i];
+        switch (step) {
+            case 0 -> {
+                server.swap(p);
+                server.swap(p);
+            }
+            case 4 -> {
+                server.sneak(p, true);
+                server.sneak(p, false);
+            }
+            case 8 -> server.swap(p);
+            case 12 -> {
+                TideStubEntity target = here[(i + 1) % PER_REGION];
+                if (target != null) server.hit(p, target, 1.0);
+            }
+            default -> {}
+        }
+    }
+
+    private static String name(int region, int i) {
+        return "r" + region + "p" + i;
+    }
+
+    // Mid-region, a few blocks apart, so every cast and target stays on its region's thread
+    private static double x(int region, int i) {
+        return region * TideRegionScheduler.REGION_BLOCKS + TideRegionScheduler.REGION_BLOCKS / 2.0 + i * 3;
+    }
+
+    private static double z() {
+        return TideRegionScheduler.REGION_BLOCKS / 2.0;
+    }
+}
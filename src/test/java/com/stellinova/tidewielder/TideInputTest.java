@@ -0,0 +1,80 @@
+package com.stellinova.tidewielder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** F and sneak taps through the real listeners and tick, on the enabled plugin. */
+class TideInputTest {
+
+    // TideManager's F / sneak tap windows, in ticks
+    private static final int TAP_WINDOW_TICKS = 6;
+
+    private TideStubServer server;
+    private TideWielderPlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        server = TideStubServer.start();
+        plugin = server.enable();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disable(plugin);
+        assertTrue(server.failures().isEmpty(), () -> server.failures().toString());
+    }
+
+    @Test
+    void doubleTapCastsMaelstromAtOnce() {
+        TideStubEntity p = server.join("alice", 0, 64, 0, true);
+
+        assertTrue(server.swap(p).isCancelled(), "the swap should be taken by the rune");
+        server.swap(p);
+
+        TidePlayerData d = plugin.getManager().data(p.player());
+        assertTrue(d.getMaelstromReadyAt() > System.currentTimeMillis());
+        assertEquals(0L, d.getSurgeReadyAt());
+    }
+
+    @Test
+    void singleTapResolvesToSurgeWhenTheWindowCloses() {
+        TideStubEntity p = server.join("alice", 0, 64, 0, true);
+        TidePlayerData d = plugin.getManager().data(p.player());
+
+        server.swap(p);
+        for (int i = 1; i < TAP_WINDOW_TICKS; i++) server.tick();
+        assertEquals(0L, d.getSurgeReadyAt(), "resolved before the window closed");
+
+        server.tick();
+        assertTrue(d.getSurgeReadyAt() > System.currentTimeMillis());
+        assertEquals(0L, d.getMaelstromReadyAt());
+    }
+
+    @Test
+    void quickSneakTapCastsTidepool() {
+        TideStubEntity p = server.join("alice", 0, 64, 0, true);
+
+        server.sneak(p, true);
+        server.sneak(p, false);
+        for (int i = 0; i < TAP_WINDOW_TICKS; i++) server.tick();
+
+        assertTrue(plugin.getManager().data(p.player()).getTidepoolReadyAt() > System.currentTimeMillis());
+    }
+
+    @Test
+    void playersWithoutTheRuneKeepTheirSwap() {
+        TideStubEntity p = server.join("bob", 0, 64, 0, false);
+
+        assertFalse(server.swap(p).isCancelled());
+        server.swap(p);
+
+        TidePlayerData d = plugin.getManager().data(p.player());
+        assertEquals(0L, d.getMaelstromReadyAt());
+        assertEquals(0L, d.getSurgeReadyAt());
+    }
+}
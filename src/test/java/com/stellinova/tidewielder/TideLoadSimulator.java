@@ -0,0 +1,298 @@
+package com.stellinova.tidewielder;
+
+import com.example.evo.api.IEvoService;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless load run of the whole plugin at N attuned players on a {@link TideStubServer}.
+ *
+ * Players stand in fights of {@value #CLUSTER} (plus half as many mobs), drift around, and
+ * follow a seeded script through the real listeners: F taps, double taps, sneak taps and sneak
+ * modifiers for every ability, melee hits on their neighbours, and now and then a quit and a
+ * relog. Ticks are paced at 50 ms of wall clock, because the plugin's tap windows, cooldowns
+ * and timers read System.currentTimeMillis.
+ *
+ * Per tick it measures main-thread time (scripted input plus the server tick), bytes allocated
+ * on the main thread and calls into stubbed Bukkit objects. Stub calls box their arguments, so
+ * the allocation figure is an upper bound for what the plugin itself allocates.
+ *
+ * Usage: {@code TideLoadSimulator [players...] [--seconds N] [--warmup N] [--seed N]},
+ * default 50 200 500 players, 30 s measured after 10 s of warmup each.
+ */
+public final class TideLoadSimulator {
+
+    private static final long TICK_NANOS = 50_000_000L;
+    private static final int CLUSTER = 10;
+    private static final double CLUSTER_RADIUS = 8.0;
+    private static final double CLUSTER_SPACING = 96.0;
+
+    // Chances per player per tick
+    private static final double HIT_CHANCE = 0.05;   // about one swing a second
+    private static final double QUIT_CHANCE = 1.0 / 2400.0; // about one relog every two minutes
+
+    /** Bukkit calls broken out in the report, by method name on any stub (World or Player). */
+    private static final Map<String, String> TRACKED = new LinkedHashMap<>();
+    static {
+        TRACKED.put("particles", "spawnParticle");
+        TRACKED.put("sounds", "playSound");
+        TRACKED.put("velocity", "setVelocity");
+        TRACKED.put("effects", "addPotionEffect");
+    }
+
+    private TideLoadSimulator() {}
+
+    public static void main(String[] args) {
+        List<Integer> sizes = new ArrayList<>();
+        int seconds = 30, warmup = 10;
+        long seed = 42L;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seconds" -> seconds = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                default -> sizes.add(Integer.parseInt(args[i]));
+            }
+        }
+        if (sizes.isEmpty()) sizes.addAll(List.of(50, 200, 500));
+
+        List<Result> results = new ArrayList<>();
+        for (int n : sizes) {
+            System.out.printf(Locale.ROOT, "Simulating %d players: %ds warmup, %ds measured...%n", n, warmup, seconds);
+            results.add(run(n, warmup * 20, seconds * 20, seed));
+        }
+
+        System.out.println();
+        System.out.println("players  p50 ms  p95 ms  p99 ms  max ms  over 50ms  alloc KiB/tick  calls/tick"
+                + "  particles  sounds  velocity  effects  failures");
+        for (Result r : results) r.printRow();
+        for (Result r : results) r.printCalls();
+    }
+
+    // ------------------------------------------------------------
+    // One run
+    // ------------------------------------------------------------
+
+    private static Result run(int players, int warmupTicks, int ticks, long seed) {
+        TideStubServer server = TideStubServer.start();
+        // Everyone at Evo 3, so Typhoon is unlocked
+        server.provide(IEvoService.class, TideStubs.stub(IEvoService.class, (self, name, a) -> switch (name) {
+            case "getEvoLevel" -> 3;
+            case "multiplier" -> 1.0;
+            default -> TideStubs.DEFAULT;
+        }));
+        TideWielderPlugin plugin = server.enable();
+        Random rnd = new Random(seed);
+
+        List<Bot> bots = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            int cluster = i / CLUSTER;
+            double cx = (cluster % 8) * CLUSTER_SPACING, cz = (cluster / 8) * CLUSTER_SPACING;
+            Bot b = new Bot(i, cx, cz);
+            b.e = server.join(b.name, cx + spread(rnd), 64, cz + spread(rnd), true);
+            b.nextAction = rnd.nextInt(100);
+            bots.add(b);
+        }
+        List<TideStubEntity> mobs = new ArrayList<>();
+        for (int i = 0; i < players / 2; i++) {
+            Bot home = bots.get(i * 2);
+            mobs.add(server.world().spawnMob("mob" + i, home.cx + spread(rnd), 64, home.cz + spread(rnd)));
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] nanos = new long[ticks];
+        long[] bytes = new long[ticks];
+        long[] calls = new long[ticks];
+
+        long next = System.nanoTime();
+        for (int t = 0; t < warmupTicks + ticks; t++) {
+            long wait = next - System.nanoTime();
+            if (wait > 0L) LockSupport.parkNanos(wait);
+            next += TICK_NANOS;
+            if (t == warmupTicks) TideStubs.resetCalls();
+
+            long calls0 = TideStubs.calls();
+            long bytes0 = threads.getCurrentThreadAllocatedBytes();
+            long t0 = System.nanoTime();
+
+            for (Bot b : bots) b.act(server, bots, mobs, rnd, t);
+            server.tick();
+
+            long dt = System.nanoTime() - t0;
+            if (t >= warmupTicks) {
+                int m = t - warmupTicks;
+                nanos[m] = dt;
+                bytes[m] = threads.getCurrentThreadAllocatedBytes() - bytes0;
+                calls[m] = TideStubs.calls() - calls0;
+            }
+        }
+        Map<String, Long> byMethod = TideStubs.callsByMethod();
+
+        server.disable(plugin);
+        return new Result(players, ticks, nanos, bytes, calls, byMethod, server.failures());
+    }
+
+    private static double spread(Random rnd) {
+        return (rnd.nextDouble() * 2.0 - 1.0) * CLUSTER_RADIUS;
+    }
+
+    // ------------------------------------------------------------
+    // Script
+    // ------------------------------------------------------------
+
+    private static final int F = 0, SNEAK_ON = 1, SNEAK_OFF = 2;
+
+    /** One input each, as (op, tick offset) pairs; 2 ticks apart is well inside the 260 ms double-tap window. */
+    private enum Action {
+        SURGE(F, 0),
+        MAELSTROM(F, 0, F, 2),
+        BUBBLE(SNEAK_ON, 0, F, 1, SNEAK_OFF, 12),
+        TYPHOON(SNEAK_ON, 0, F, 1, F, 3, SNEAK_OFF, 12),
+        TIDEPOOL(SNEAK_ON, 0, SNEAK_OFF, 2);
+
+        static final Action[] VALUES = values();
+
+        final int[] script;
+        final int length;
+
+        Action(int... script) {
+            this.script = script;
+            this.length = script[script.length - 1];
+        }
+    }
+
+    private static final class Bot {
+        final int index;
+        final String name;
+        final double cx, cz;
+        TideStubEntity e;
+        Action action;
+        int started;
+        int nextAction;
+        int rejoinAt = -1;
+
+        Bot(int index, double cx, double cz) {
+            this.index = index;
+            this.name = "sim" + index;
+            this.cx = cx;
+            this.cz = cz;
+        }
+
+        void act(TideStubServer server, List<Bot> bots, List<TideStubEntity> mobs, Random rnd, int t) {
+            if (rejoinAt >= 0) {
+                if (t < rejoinAt) return;
+                rejoinAt = -1;
+                e = server.join(name, cx + spread(rnd), 64, cz + spread(rnd), true);
+                nextAction = t + 20 + rnd.nextInt(60);
+            }
+
+            // Drift, staying in the fight
+            double x = clamp(e.x + (rnd.nextDouble() - 0.5) * 0.3, cx);
+            double z = clamp(e.z + (rnd.nextDouble() - 0.5) * 0.3, cz);
+            e.moveTo(x, 64, z);
+
+            if (action == null && t >= nextAction) {
+                action = Action.VALUES[rnd.nextInt(Action.VALUES.length)];
+                started = t;
+            }
+            if (action != null) {
+                int at = t - started;
+                for (int i = 0; i < action.script.length; i += 2) {
+                    if (action.script[i + 1] != at) continue;
+                    switch (action.script[i]) {
+                        case F -> server.swap(e);
+                        case SNEAK_ON -> server.sneak(e, true);
+                        default -> server.sneak(e, false);
+                    }
+                }
+                if (at >= action.length) {
+                    action = null;
+                    nextAction = t + 40 + rnd.nextInt(120);
+                }
+            }
+
+            if (rnd.nextDouble() < HIT_CHANCE) {
+                TideStubEntity target = neighbour(bots, mobs, rnd);
+                if (target != null && target != e) server.hit(e, target, 4.0);
+            }
+
+            if (action == null && rnd.nextDouble() < QUIT_CHANCE) {
+                if (e.sneaking) server.sneak(e, false);
+                server.quit(e);
+                rejoinAt = t + 40 + rnd.nextInt(160);
+            }
+        }
+
+        /** Someone online in the same fight, or one of its mobs. */
+        private TideStubEntity neighbour(List<Bot> bots, List<TideStubEntity> mobs, Random rnd) {
+            int first = index / CLUSTER * CLUSTER;
+            int size = Math.min(CLUSTER, bots.size() - first);
+            int pick = rnd.nextInt(size + CLUSTER / 2);
+            if (pick < size) {
+                Bot b = bots.get(first + pick);
+                return b.rejoinAt >= 0 ? null : b.e;
+            }
+            int mob = first / 2 + (pick - size);
+            return mob < mobs.size() ? mobs.get(mob) : null;
+        }
+
+        private static double clamp(double v, double centre) {
+            return Math.max(centre - CLUSTER_RADIUS, Math.min(centre + CLUSTER_RADIUS, v));
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Report
+    // ------------------------------------------------------------
+
+    private record Result(int players, int ticks, long[] nanos, long[] bytes, long[] calls,
+                          Map<String, Long> byMethod, List<Throwable> failures) {
+
+        void printRow() {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            long over = Arrays.stream(nanos).filter(n -> n > TICK_NANOS).count();
+            System.out.printf(Locale.ROOT, "%7d  %6.2f  %6.2f  %6.2f  %6.2f  %9d  %14.1f  %10.1f",
+                    players, ms(pct(sorted, 0.50)), ms(pct(sorted, 0.95)), ms(pct(sorted, 0.99)),
+                    ms(sorted[sorted.length - 1]), over,
+                    Arrays.stream(bytes).average().orElse(0) / 1024.0,
+                    Arrays.stream(calls).average().orElse(0));
+            for (String method : TRACKED.values()) {
+                long n = 0;
+                for (Map.Entry<String, Long> en : byMethod.entrySet()) {
+                    if (en.getKey().endsWith('.' + method)) n += en.getValue();
+                }
+                System.out.printf(Locale.ROOT, "  %9.1f", n / (double) ticks);
+            }
+            System.out.printf(Locale.ROOT, "  %8d%n", failures.size());
+        }
+
+        void printCalls() {
+            System.out.printf(Locale.ROOT, "%nTop Bukkit calls per tick at %d players:%n", players);
+            byMethod.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(12)
+                    .forEach(en -> System.out.printf(Locale.ROOT, "  %-40s %10.1f%n", en.getKey(), en.getValue() / (double) ticks));
+            if (!failures.isEmpty()) {
+                System.out.println("First failure:");
+                failures.get(0).printStackTrace(System.out);
+            }
+        }
+
+        private static long pct(long[] sorted, double p) {
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+        }
+
+        private static double ms(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
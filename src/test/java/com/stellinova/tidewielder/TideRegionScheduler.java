@@ -0,0 +1,184 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link TideScheduler} that behaves like a region-threaded server (Folia): every
+ * {@value #REGION_BLOCKS}-block square of a world is owned by its own thread, and repeating
+ * tasks run on a separate global thread that owns no region. Nothing runs on its own;
+ * {@link #tick()} runs one server tick and waits until every region has gone idle, so tests
+ * stay deterministic while still crossing real threads.
+ */
+final class TideRegionScheduler implements TideScheduler, AutoCloseable {
+
+    static final int REGION_SHIFT = 9;
+    static final int REGION_BLOCKS = 1 << REGION_SHIFT;
+
+    private static final long IDLE_TIMEOUT_MS = 10_000L;
+
+    private final Map<String, ExecutorService> regions = new ConcurrentHashMap<>();
+    private final ExecutorService global = executor("tide-global");
+    private final ExecutorService async = executor("tide-async");
+    private final ThreadLocal<String> current = new ThreadLocal<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final List<Repeating> repeating = new CopyOnWriteArrayList<>();
+    private final List<Throwable> failures = new CopyOnWriteArrayList<>();
+    private long tick;
+
+    // ------------------------------------------------------------
+    // TideScheduler
+    // ------------------------------------------------------------
+
+    @Override
+    public Task repeat(Runnable task, long delayTicks, long periodTicks) {
+        return add(new Repeating(task, tick + Math.max(1L, delayTicks), Math.max(1L, periodTicks), false));
+    }
+
+    @Override
+    public Task repeatAsync(Runnable task, long delayTicks, long periodTicks) {
+        return add(new Repeating(task, tick + Math.max(1L, delayTicks), Math.max(1L, periodTicks), true));
+    }
+
+    @Override
+    public boolean owns(Entity e) {
+        return region(e.getLocation()).equals(current.get());
+    }
+
+    @Override
+    public boolean owns(World w, double x, double z) {
+        return region(w, x, z).equals(current.get());
+    }
+
+    @Override
+    public void run(Entity e, Runnable task) {
+        submit(region(e.getLocation()), task);
+    }
+
+    @Override
+    public void run(World w, double x, double z, Runnable task) {
+        submit(region(w, x, z), task);
+    }
+
+    // ------------------------------------------------------------
+    // Test driving
+    // ------------------------------------------------------------
+
+    /** Runs every repeating task that is due, then waits for all regions to go idle. */
+    void tick() {
+        tick++;
+        for (Repeating r : repeating) {
+            if (r.cancelled || r.next > tick) continue;
+            r.next = tick + r.period;
+            pending.incrementAndGet();
+            (r.async ? async : global).execute(() -> runTracked("global", r.task));
+        }
+        awaitIdle();
+    }
+
+    /** Runs {@code task} on the thread owning (x, z) and waits until everything it caused is done. */
+    void runIn(World w, double x, double z, Runnable task) {
+        submit(region(w, x, z), task);
+        awaitIdle();
+    }
+
+    /** Name of the thread that owns the region holding {@code l}. */
+    String threadOf(Location l) {
+        return "tide-region " + region(l);
+    }
+
+    /** Everything a task threw; a passing test expects this to stay empty. */
+    List<Throwable> failures() {
+        return failures;
+    }
+
+    void awaitIdle() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT_MS);
+        while (pending.get() > 0) {
+            if (System.nanoTime() > deadline) throw new IllegalStateException(pending.get() + " region tasks still running");
+            LockSupport.parkNanos(50_000L);
+        }
+    }
+
+    @Override
+    public void close() {
+        global.shutdownNow();
+        async.shutdownNow();
+        for (ExecutorService e : regions.values()) e.shutdownNow();
+        regions.clear();
+    }
+
+    // ------------------------------------------------------------
+    // Internals
+    // ------------------------------------------------------------
+
+    private Task add(Repeating r) {
+        repeating.add(r);
+        return () -> {
+            r.cancelled = true;
+            repeating.remove(r);
+        };
+    }
+
+    private void submit(String region, Runnable task) {
+        pending.incrementAndGet();
+        regions.computeIfAbsent(region, k -> executor("tide-region " + k))
+                .execute(() -> runTracked(region, task));
+    }
+
+    private void runTracked(String region, Runnable task) {
+        current.set(region);
+        try {
+            task.run();
+        } catch (Throwable t) {
+            failures.add(t);
+        } finally {
+            current.remove();
+            pending.decrementAndGet();
+        }
+    }
+
+    private static String region(Location l) {
+        return region(l.getWorld(), l.getX(), l.getZ());
+    }
+
+    private static String region(World w, double x, double z) {
+        int rx = ((int) Math.floor(x)) >> REGION_SHIFT;
+        int rz = ((int) Math.floor(z)) >> REGION_SHIFT;
+        return w.getName() + ' ' + rx + ',' + rz;
+    }
+
+    private static ExecutorService executor(String name) {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static final class Repeating {
+        final Runnable task;
+        final long period;
+        final boolean async;
+        volatile long next;
+        volatile boolean cancelled;
+
+        Repeating(Runnable task, long next, long period, boolean async) {
+            this.task = task;
+            this.next = next;
+            this.period = period;
+            this.async = async;
+        }
+    }
+}
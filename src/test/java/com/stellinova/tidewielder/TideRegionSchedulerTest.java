@@ -0,0 +1,134 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Cast targets under a region-threaded scheduler: every write lands on the owning thread. */
+class TideRegionSchedulerTest {
+
+    private static final double HOME_X = 100, FAR_X = 100 + TideRegionScheduler.REGION_BLOCKS;
+
+    private TideRegionScheduler scheduler;
+    private TideStubWorld stubWorld;
+    private World world;
+    private TideStubEntity caster;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new TideRegionScheduler();
+        stubWorld = new TideStubWorld("world");
+        world = stubWorld.world();
+        caster = stubWorld.spawnPlayer("caster", HOME_X, 64, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    void ownsOnlyTheRegionItRunsIn() {
+        TideStubEntity near = stubWorld.spawnMob("near", HOME_X + 5, 64, 100);
+        TideStubEntity far = stubWorld.spawnMob("far", FAR_X, 64, 100);
+        AtomicBoolean ownsNear = new AtomicBoolean(), ownsFar = new AtomicBoolean(true);
+
+        scheduler.runIn(world, HOME_X, 100, () -> {
+            ownsNear.set(scheduler.owns(near.living()));
+            ownsFar.set(scheduler.owns(far.living()));
+        });
+
+        assertTrue(ownsNear.get());
+        assertFalse(ownsFar.get());
+        assertFalse(scheduler.owns(near.living()), "the test thread owns no region");
+    }
+
+    @Test
+    void offloadedCastAppliesEachTargetOnItsOwnRegionThread() {
+        TideCastPipeline casts = new TideCastPipeline(scheduler, Logger.getAnonymousLogger(), true);
+        List<TideStubEntity> targets = new ArrayList<>();
+        for (int i = 0; i < TideCastPipeline.INLINE_TARGETS; i++) {
+            targets.add(stubWorld.spawnMob("home" + i, HOME_X + 2 + i, 64, 100));
+            targets.add(stubWorld.spawnMob("far" + i, FAR_X + i, 64, 100));
+        }
+
+        scheduler.runIn(world, HOME_X, 100, () -> {
+            TideCastPipeline.Job job = casts.job(TideAbility.TYPHOON, TideCastPipeline.Kernel.PULSE, caster.player(),
+                    new Location(world, HOME_X, 64, 100), 0, 0, 0, 1.0, 2.0);
+            for (TideStubEntity t : targets) job.add(t.living());
+            casts.submit(job);
+        });
+        drain(casts);
+
+        for (TideStubEntity t : targets) {
+            assertEquals(scheduler.threadOf(t.living().getLocation()), t.lastWriter, t.name);
+            assertEquals(2.0, t.damageTaken, 1e-9, t.name);
+            assertTrue(t.lastDamageInternal, t.name + " damage was not tagged as plugin damage");
+            assertNotEquals(0.0, t.vx, t.name);
+        }
+        assertTrue(scheduler.failures().isEmpty(), () -> scheduler.failures().toString());
+    }
+
+    @Test
+    void smallCastsApplyInlineOnTheCastTick() {
+        TideCastPipeline casts = new TideCastPipeline(scheduler, Logger.getAnonymousLogger(), true);
+        TideStubEntity a = stubWorld.spawnMob("a", HOME_X + 2, 64, 100);
+        TideStubEntity b = stubWorld.spawnMob("b", HOME_X + 3, 64, 100);
+        AtomicInteger pendingAfterSubmit = new AtomicInteger(-1);
+
+        scheduler.runIn(world, HOME_X, 100, () -> {
+            TideCastPipeline.Job job = casts.job(TideAbility.SURGE, TideCastPipeline.Kernel.PUSH, caster.player(),
+                    new Location(world, HOME_X, 64, 100), 1, 0, 0, 1.0, 1.0);
+            job.add(a.living());
+            job.add(b.living());
+            casts.submit(job);
+            pendingAfterSubmit.set(casts.pending());
+        });
+
+        assertEquals(0, pendingAfterSubmit.get());
+        assertEquals(1.0, a.damageTaken, 1e-9);
+        assertEquals(1.0, b.damageTaken, 1e-9);
+        assertEquals(scheduler.threadOf(a.living().getLocation()), a.lastWriter);
+    }
+
+    @Test
+    void shutdownAppliesWhatTheWorkerFinished() {
+        TideCastPipeline casts = new TideCastPipeline(scheduler, Logger.getAnonymousLogger(), true);
+        List<TideStubEntity> targets = new ArrayList<>();
+        for (int i = 0; i < TideCastPipeline.INLINE_TARGETS; i++) {
+            targets.add(stubWorld.spawnMob("t" + i, HOME_X + 2 + i, 64, 100));
+        }
+
+        scheduler.runIn(world, HOME_X, 100, () -> {
+            TideCastPipeline.Job job = casts.job(TideAbility.MAELSTROM, TideCastPipeline.Kernel.SWIRL, caster.player(),
+                    new Location(world, HOME_X, 64, 100), 0, 0, 0, 0, 0);
+            for (TideStubEntity t : targets) job.add(t.living());
+            casts.submit(job);
+            casts.shutdown();
+        });
+
+        assertEquals(0, casts.pending());
+        for (TideStubEntity t : targets) assertEquals(1, t.velocityChanges, t.name);
+    }
+
+    /** Applies ready jobs on the caster's region, as its next ticks would, until none are left. */
+    private void drain(TideCastPipeline casts) {
+        for (int i = 0; i < 1000 && casts.pending() > 0; i++) {
+            scheduler.runIn(world, HOME_X, 100, casts::applyReady);
+        }
+        assertEquals(0, casts.pending());
+    }
+}
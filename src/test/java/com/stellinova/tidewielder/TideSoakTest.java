@@ -0,0 +1,147 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 100k join/quit cycles on the enabled plugin, read back through {@code /tide debug memory}:
+ * whatever a player leaves behind must be gone once their grace period and cooldowns are over.
+ */
+class TideSoakTest {
+
+    private static final int CYCLES = 100_000;
+    private static final int CHECK_EVERY = 10_000;
+    // Names that come back, so relogs into a held slot are part of the mix
+    private static final int REGULARS = 50;
+    private static final long COOLDOWN_MS = 50L;
+    private static final long TICK_NANOS = 50_000_000L;
+    private static final long DRAIN_NANOS = 5_000_000_000L;
+
+    /** /tide debug memory counters that must be back to zero once nobody is online and time has passed. */
+    private static final List<String> RETAINED = List.of("Slots", "offline", "Active", "Pending input",
+            "Action bar queued", "Timers", "Access cache", "Evo profiles", "HUD boards", "live", "FX queued", "Cast jobs");
+
+    private static final Pattern LABELLED = Pattern.compile("([A-Z][A-Za-z ]*?): (\\d+)");
+    private static final Pattern TRAILING = Pattern.compile("(\\d+) (offline|free|live|pooled)");
+    private static final Pattern CAPACITY = Pattern.compile("capacity (\\d+)");
+
+    private TideStubServer server;
+    private TideWielderPlugin plugin;
+    private TideCommand command;
+
+    @BeforeEach
+    void setUp() {
+        server = TideStubServer.start();
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("state.grace-seconds", 0);
+        config.put("abilities.echo.duration-ms", COOLDOWN_MS);
+        for (TideAbility a : TideAbility.values()) {
+            config.put("abilities." + a.name().toLowerCase(Locale.ROOT) + ".cooldown-ms", COOLDOWN_MS);
+        }
+        plugin = server.enable(config);
+        command = new TideCommand(plugin, plugin.getManager(), plugin.getHud(), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disable(plugin);
+        assertTrue(server.failures().isEmpty(), () -> server.failures().toString());
+    }
+
+    @Test
+    void joinQuitCyclesLeaveNothingBehind() {
+        Random rnd = new Random(11L);
+        List<Map<String, Long>> checkpoints = new ArrayList<>();
+        int unique = 0;
+
+        for (int i = 0; i < CYCLES; i++) {
+            boolean regular = rnd.nextInt(10) == 0;
+            String name = regular ? "regular" + rnd.nextInt(REGULARS) : "soak" + i;
+            if (!regular) unique++;
+            TideStubEntity p = server.join(name, rnd.nextDouble() * 32, 64, rnd.nextDouble() * 32, true);
+            if (i % 100 == 0) {
+                // Maelstrom: cooldown, bossbar, echo, action bar, FX and a cast job outlive the quit
+                server.swap(p);
+                server.swap(p);
+            } else if (i % 100 == 1) {
+                server.sneak(p, true);
+            }
+            server.tick();
+            server.quit(p);
+            server.tick();
+            if ((i + 1) % CHECK_EVERY == 0) {
+                drain();
+                checkpoints.add(memory());
+            }
+        }
+
+        assertEquals(0, server.onlineCount());
+        for (Map<String, Long> c : checkpoints) {
+            for (String counter : RETAINED) {
+                assertEquals(0L, c.get(counter), () -> counter + " after a drain: " + checkpoints);
+            }
+            assertTrue(c.get("pooled") <= TideAbility.COUNT, () -> "bar pool: " + checkpoints);
+        }
+        // Slots are evicted on the wall clock, so the table holds however many players left in
+        // the last few ticks' worth of time, never the 100k who came and went
+        long peak = checkpoints.stream().mapToLong(c -> c.get("capacity")).max().orElseThrow();
+        assertTrue(peak <= CYCLES / 8, () -> "slot capacity " + peak + ": " + checkpoints);
+        Map<String, Long> end = checkpoints.get(checkpoints.size() - 1);
+        int oneOff = unique;
+        assertTrue(end.get("Evicted") >= oneOff, () -> oneOff + " one-off players, evictions: " + end);
+    }
+
+    /** Ticks at wall-clock pace until every timer has run out, as a quiet server would. */
+    private void drain() {
+        long deadline = System.nanoTime() + DRAIN_NANOS;
+        do {
+            LockSupport.parkNanos(TICK_NANOS);
+            server.tick();
+        } while (plugin.getManager().timersPending() > 0 && System.nanoTime() < deadline);
+        server.tick();
+    }
+
+    /** Runs {@code /tide debug memory} and reads back every counter it prints, by label. */
+    private Map<String, Long> memory() {
+        List<String> lines = new ArrayList<>();
+        CommandSender console = TideStubs.stub(CommandSender.class, (self, name, a) -> switch (name) {
+            case "sendMessage" -> {
+                lines.add(ChatColor.stripColor(String.valueOf(a[0])));
+                yield null;
+            }
+            case "hasPermission" -> true;
+            default -> TideStubs.DEFAULT;
+        });
+        command.onCommand(console, null, "tide", new String[] {"debug", "memory"});
+
+        Map<String, Long> out = new LinkedHashMap<>();
+        for (String line : lines) {
+            for (Pattern p : List.of(LABELLED, TRAILING)) {
+                Matcher m = p.matcher(line);
+                while (m.find()) {
+                    boolean labelFirst = p == LABELLED;
+                    out.put(m.group(labelFirst ? 1 : 2).trim(), Long.parseLong(m.group(labelFirst ? 2 : 1)));
+                }
+            }
+            Matcher m = CAPACITY.matcher(line);
+            if (m.find()) out.put("capacity", Long.parseLong(m.group(1)));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,201 @@
+package com.stellinova.tidewielder;
+
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.util.Vector;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A player or mob behind a {@link TideStubs} proxy: position, velocity, PDC, scoreboard and
+ * counters for everything the plugin sends to it. Writes (velocity, damage, effects) remember
+ * the thread they came from and whether the damage was tagged by {@link TideDamage}; every
+ * write is checked against the world's owner guard.
+ */
+final class TideStubEntity {
+
+    final UUID id;
+    final String name;
+    final boolean player;
+    final TideStubWorld world;
+
+    volatile double x, y, z;
+    volatile float yaw, pitch;
+    volatile double vx, vy, vz;
+    double width = 0.6;
+    double height = 1.8;
+
+    volatile boolean valid = true;
+    volatile boolean online = true;
+    volatile boolean sneaking;
+    volatile boolean onGround = true;
+    volatile int food = 20;
+    volatile Scoreboard scoreboard;
+
+    volatile double damageTaken;
+    volatile int effects;
+    volatile int velocityChanges;
+    volatile String lastWriter;
+    volatile boolean lastDamageInternal;
+
+    long particles;
+    long sounds;
+    long messages;
+    long actionBars;
+
+    private final Map<NamespacedKey, Object> pdc = new ConcurrentHashMap<>();
+    private final PersistentDataContainer container;
+    private final LivingEntity handle;
+    private Player.Spigot spigot;
+
+    TideStubEntity(TideStubWorld world, String name, boolean player, double x, double y, double z) {
+        this.id = UUID.nameUUIDFromBytes(("tide-stub:" + name).getBytes());
+        this.name = name;
+        this.player = player;
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.container = TideStubs.stub(PersistentDataContainer.class, this::pdc);
+        this.handle = player
+                ? TideStubs.stub(Player.class, this::handle)
+                : TideStubs.stub(LivingEntity.class, this::handle);
+    }
+
+    LivingEntity living() {
+        return handle;
+    }
+
+    Player player() {
+        return (Player) handle;
+    }
+
+    void moveTo(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /** Writes a PDC value directly, as if saved by an earlier session. */
+    void setData(NamespacedKey key, Object value) {
+        pdc.put(key, value);
+    }
+
+    /** Whether this entity's box overlaps the box of half-size (rx, ry, rz) around (cx, cy, cz). */
+    boolean overlaps(double cx, double cy, double cz, double rx, double ry, double rz) {
+        double hw = width / 2.0;
+        return x + hw >= cx - rx && x - hw <= cx + rx
+                && y + height >= cy - ry && y <= cy + ry
+                && z + hw >= cz - rz && z - hw <= cz + rz;
+    }
+
+    private void wrote(String what) {
+        lastWriter = Thread.currentThread().getName();
+        world.checkOwner(this, what);
+    }
+
+    private Object handle(Object self, String name, Object[] a) {
+        switch (name) {
+            case "getUniqueId": return id;
+            case "getName": return this.name;
+            case "getWorld": return world.world();
+            case "getLocation":
+                if (a.length == 0) return new Location(world.world(), x, y, z, yaw, pitch);
+                Location l = (Location) a[0];
+                if (l != null) {
+                    l.setWorld(world.world());
+                    l.setX(x);
+                    l.setY(y);
+                    l.setZ(z);
+                    l.setYaw(yaw);
+                    l.setPitch(pitch);
+                }
+                return l;
+            case "getVelocity": return new Vector(vx, vy, vz);
+            case "setVelocity":
+                Vector v = (Vector) a[0];
+                vx = v.getX();
+                vy = v.getY();
+                vz = v.getZ();
+                velocityChanges++;
+                wrote(name);
+                return null;
+            case "getWidth": return width;
+            case "getHeight": return height;
+            case "isValid": return valid;
+            case "isDead": return !valid;
+            case "isOnline": return online;
+            case "isSneaking": return sneaking;
+            case "isOnGround": return onGround;
+            case "getFoodLevel": return food;
+            case "setFoodLevel":
+                food = (Integer) a[0];
+                world.checkOwner(this, name);
+                return null;
+            case "getHealth": return 20.0;
+            case "damage":
+                damageTaken += (Double) a[0];
+                lastDamageInternal = TideDamage.internal();
+                wrote(name);
+                return null;
+            case "addPotionEffect":
+                effects++;
+                wrote(name);
+                return true;
+            case "getPersistentDataContainer": return container;
+            case "getScoreboard": return scoreboard;
+            case "setScoreboard":
+                scoreboard = (Scoreboard) a[0];
+                world.checkOwner(this, name);
+                return null;
+            case "spawnParticle":
+                particles++;
+                return null;
+            case "playSound":
+                sounds++;
+                return null;
+            case "sendMessage":
+                messages++;
+                return null;
+            case "spigot":
+                if (spigot == null) spigot = new Spigot();
+                return spigot;
+            default: return TideStubs.DEFAULT;
+        }
+    }
+
+    private Object pdc(Object self, String name, Object[] a) {
+        switch (name) {
+            case "get": return pdc.get((NamespacedKey) a[0]);
+            case "getOrDefault": return pdc.getOrDefault((NamespacedKey) a[0], a[2]);
+            case "set":
+                pdc.put((NamespacedKey) a[0], a[2]);
+                world.checkOwner(this, "PDC set");
+                return null;
+            case "has": return pdc.containsKey((NamespacedKey) a[0]);
+            case "remove":
+                pdc.remove((NamespacedKey) a[0]);
+                return null;
+            case "getKeys": return new HashSet<>(pdc.keySet());
+            case "isEmpty": return pdc.isEmpty();
+            default: return TideStubs.DEFAULT;
+        }
+    }
+
+    /** Counts action bar packets instead of throwing like the API's placeholder. */
+    private final class Spigot extends Player.Spigot {
+        @Override
+        public void sendMessage(ChatMessageType position, BaseComponent component) {
+            actionBars++;
+        }
+    }
+}
@@ -0,0 +1,496 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.Server;
+import org.bukkit.damage.DamageSource;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.event.player.PlayerToggleSneakEvent;
+import org.bukkit.event.server.ServiceRegisterEvent;
+import org.bukkit.plugin.InvalidDescriptionException;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.RegisteredServiceProvider;
+import org.bukkit.plugin.ServicePriority;
+import org.bukkit.plugin.ServicesManager;
+import org.bukkit.plugin.java.JavaPluginLoader;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.ScoreboardManager;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+/**
+ * The whole plugin on a plain JVM: a {@link TideStubs} server installed as the Bukkit server,
+ * with an online player list, event dispatch to registered listeners in priority order and a
+ * scheduler that only runs when {@link #tick()} is called. The thread that last called
+ * {@link #start()} is the main thread; ticks and events are expected to run on it, unless the
+ * plugin was enabled on its own {@link TideScheduler}, in which case players may join, quit
+ * and send input from that scheduler's region threads.
+ *
+ * Bukkit takes a single server per JVM, so there is one instance and {@link #start()} wipes it.
+ * Async tasks run on the tick as well, which keeps a run single-threaded.
+ */
+final class TideStubServer {
+
+    static final NamespacedKey ACCESS_KEY = NamespacedKey.fromString("tidewielder:tidewielder_enabled");
+
+    private static TideStubServer instance;
+
+    private final Logger logger = Logger.getLogger("TideStub");
+    private final Server server = TideStubs.stub(Server.class, this::server);
+    private final PluginManager plugins = TideStubs.stub(PluginManager.class, this::plugins);
+    private final BukkitScheduler scheduler = TideStubs.stub(BukkitScheduler.class, this::scheduler);
+    private final ScoreboardManager scoreboards = TideStubs.stub(ScoreboardManager.class, this::scoreboards);
+    private final ServicesManager services = TideStubs.stub(ServicesManager.class, this::services);
+    private final Scoreboard mainScoreboard = TideStubs.stub(Scoreboard.class);
+
+    // Registry entries outlive start(): the API keeps them in static finals
+    private final Map<Class<?>, Registry<?>> registries = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Object> provided = new ConcurrentHashMap<>();
+
+    private final List<TideStubWorld> worlds = new ArrayList<>();
+    private final Map<UUID, TideStubEntity> online = new ConcurrentHashMap<>();
+    private final List<Player> onlineHandles = new CopyOnWriteArrayList<>();
+    private final List<Player> onlineView = Collections.unmodifiableList(onlineHandles);
+    private final List<Registered> handlers = new ArrayList<>();
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<Throwable> failures = new CopyOnWriteArrayList<>();
+    private final Map<Plugin, File> dataFolders = new LinkedHashMap<>();
+
+    private volatile Thread mainThread;
+    private int nextTaskId = 1;
+    private long tick;
+
+    private TideStubServer() {}
+
+    /** Installs the server on first use and resets it to one empty world. */
+    static synchronized TideStubServer start() {
+        if (instance == null) {
+            instance = new TideStubServer();
+            Bukkit.setServer(instance.server);
+        }
+        instance.reset();
+        return instance;
+    }
+
+    private void reset() {
+        mainThread = Thread.currentThread();
+        handlers.clear();
+        tasks.clear();
+        failures.clear();
+        online.clear();
+        onlineHandles.clear();
+        worlds.clear();
+        provided.clear();
+        worlds.add(new TideStubWorld("world"));
+        tick = 0L;
+    }
+
+    // ------------------------------------------------------------
+    // Plugin lifecycle
+    // ------------------------------------------------------------
+
+    /** Loads the plugin from the classpath into a fresh data folder and enables it. */
+    TideWielderPlugin enable() {
+        return enable(Map.of());
+    }
+
+    /** As {@link #enable()}, with {@code config} set over the default config.yml first. */
+    TideWielderPlugin enable(Map<String, Object> config) {
+        return enable(config, null);
+    }
+
+    /** As {@link #enable(Map)}, running the plugin on {@code scheduler} unless it is null. */
+    @SuppressWarnings("deprecation")
+    TideWielderPlugin enable(Map<String, Object> config, TideScheduler scheduler) {
+        try {
+            File folder = Files.createTempDirectory("tidewielder").toFile();
+            PluginDescriptionFile description;
+            try (InputStream in = TideStubServer.class.getClassLoader().getResourceAsStream("plugin.yml")) {
+                description = new PluginDescriptionFile(in);
+            }
+            TideWielderPlugin plugin = new TideWielderPlugin(new JavaPluginLoader(server), description,
+                    folder, new File(folder, "TideWielder.jar"));
+            dataFolders.put(plugin, folder);
+            if (scheduler != null) plugin.useScheduler(scheduler);
+            plugin.saveDefaultConfig();
+            config.forEach(plugin.getConfig()::set);
+            plugin.onEnable();
+            return plugin;
+        } catch (IOException | InvalidDescriptionException e) {
+            throw new IllegalStateException("could not load plugin.yml", e);
+        }
+    }
+
+    /** Disables the plugin, drops its listeners and tasks and deletes its data folder. */
+    void disable(TideWielderPlugin plugin) {
+        try {
+            plugin.onDisable();
+        } finally {
+            handlers.removeIf(r -> r.owner == plugin);
+            for (Task t : tasks) {
+                if (t.owner == plugin) t.cancelled = true;
+            }
+            File folder = dataFolders.remove(plugin);
+            if (folder != null) delete(folder);
+        }
+    }
+
+    /** Makes {@code impl} what ServicesManager.load returns for {@code type}, and announces it. */
+    <T> void provide(Class<T> type, T impl) {
+        provided.put(type, impl);
+        call(new ServiceRegisterEvent(new RegisteredServiceProvider<>(type, impl, ServicePriority.Normal, null)));
+    }
+
+    // ------------------------------------------------------------
+    // World and players
+    // ------------------------------------------------------------
+
+    TideStubWorld world() {
+        return worlds.get(0);
+    }
+
+    long currentTick() {
+        return tick;
+    }
+
+    int onlineCount() {
+        return onlineHandles.size();
+    }
+
+    /** Joins a player into the default world; an attuned player has the rune in their PDC already. */
+    TideStubEntity join(String name, double x, double y, double z, boolean attuned) {
+        TideStubEntity e = world().spawnPlayer(name, x, y, z);
+        if (attuned) e.setData(ACCESS_KEY, 1);
+        online.put(e.id, e);
+        onlineHandles.add(e.player());
+        call(new PlayerJoinEvent(e.player(), name + " joined the game"));
+        return e;
+    }
+
+    /** Fires the quit event while the player is still listed, then removes them. */
+    void quit(TideStubEntity e) {
+        call(new PlayerQuitEvent(e.player(), e.name + " left the game"));
+        e.online = false;
+        online.remove(e.id);
+        onlineHandles.remove(e.player());
+        e.world.remove(e);
+    }
+
+    // ------------------------------------------------------------
+    // Input
+    // ------------------------------------------------------------
+
+    /** Presses F; the event comes back cancelled when the plugin took the tap. */
+    PlayerSwapHandItemsEvent swap(TideStubEntity e) {
+        return call(new PlayerSwapHandItemsEvent(e.player(), null, null));
+    }
+
+    /** Presses or releases sneak; like the server, the state flips after the event unless cancelled. */
+    void sneak(TideStubEntity e, boolean sneaking) {
+        if (!call(new PlayerToggleSneakEvent(e.player(), sneaking)).isCancelled()) e.sneaking = sneaking;
+    }
+
+    /** A melee hit; the target takes whatever damage is left after the listeners ran. */
+    EntityDamageByEntityEvent hit(TideStubEntity attacker, TideStubEntity target, double damage) {
+        DamageSource source = TideStubs.stub(DamageSource.class, (self, name, a) -> switch (name) {
+            case "getCausingEntity", "getDirectEntity" -> attacker.living();
+            default -> TideStubs.DEFAULT;
+        });
+        EntityDamageByEntityEvent ev = call(new EntityDamageByEntityEvent(attacker.living(), target.living(),
+                EntityDamageEvent.DamageCause.ENTITY_ATTACK, source, damage));
+        if (!ev.isCancelled()) target.damageTaken += ev.getDamage();
+        return ev;
+    }
+
+    // ------------------------------------------------------------
+    // Events and ticks
+    // ------------------------------------------------------------
+
+    /** Dispatches to every matching handler by priority; handler exceptions are kept, not thrown. */
+    <T extends Event> T call(T event) {
+        for (int i = 0; i < handlers.size(); i++) {
+            Registered r = handlers.get(i);
+            if (!r.type.isInstance(event)) continue;
+            if (r.ignoreCancelled && event instanceof Cancellable c && c.isCancelled()) continue;
+            try {
+                r.handle.invokeExact((Object) event);
+            } catch (Throwable t) {
+                failures.add(t);
+            }
+        }
+        return event;
+    }
+
+    /** Runs one server tick: every task that is due, in the order it was scheduled. */
+    void tick() {
+        tick++;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task t = tasks.get(i);
+            if (t.cancelled || t.next > tick) continue;
+            if (t.period > 0L) t.next = tick + t.period;
+            else t.cancelled = true;
+            try {
+                t.run.run();
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        }
+        tasks.removeIf(t -> t.cancelled);
+    }
+
+    /** Everything a listener or task threw; a clean run leaves this empty. */
+    List<Throwable> failures() {
+        return failures;
+    }
+
+    // ------------------------------------------------------------
+    // Stub handlers
+    // ------------------------------------------------------------
+
+    private Object server(Object self, String name, Object[] a) {
+        switch (name) {
+            case "getName": return "TideStub";
+            case "getVersion": return "stub";
+            case "getBukkitVersion": return "1.21.8-R0.1-SNAPSHOT";
+            case "getLogger": return logger;
+            case "isPrimaryThread": return Thread.currentThread() == mainThread;
+            case "getOnlinePlayers": return onlineView;
+            case "getMaxPlayers": return 1000;
+            case "getPlayer":
+            case "getPlayerExact":
+                return player(a[0]);
+            case "getWorlds": {
+                List<org.bukkit.World> out = new ArrayList<>();
+                for (TideStubWorld w : worlds) out.add(w.world());
+                return out;
+            }
+            case "getWorld":
+                for (TideStubWorld w : worlds) {
+                    if (w.uid.equals(a[0]) || w.name.equals(a[0])) return w.world();
+                }
+                return null;
+            case "getPluginManager": return plugins;
+            case "getScheduler": return scheduler;
+            case "getScoreboardManager": return scoreboards;
+            case "getServicesManager": return services;
+            case "getRegistry": return registry((Class<?>) a[0]);
+            default: return TideStubs.DEFAULT;
+        }
+    }
+
+    private Player player(Object key) {
+        if (key instanceof UUID id) {
+            TideStubEntity e = online.get(id);
+            return e == null ? null : e.player();
+        }
+        for (TideStubEntity e : online.values()) {
+            if (e.name.equalsIgnoreCase(String.valueOf(key))) return e.player();
+        }
+        return null;
+    }
+
+    private Object plugins(Object self, String name, Object[] a) {
+        switch (name) {
+            case "registerEvents":
+                register((Listener) a[0], (Plugin) a[1]);
+                return null;
+            case "callEvent":
+                call((Event) a[0]);
+                return null;
+            case "getPlugin": return null;
+            case "isPluginEnabled": return false;
+            default: return TideStubs.DEFAULT;
+        }
+    }
+
+    private Object services(Object self, String name, Object[] a) {
+        if (name.equals("load")) return provided.get((Class<?>) a[0]);
+        return TideStubs.DEFAULT;
+    }
+
+    private Object scoreboards(Object self, String name, Object[] a) {
+        if (name.equals("getMainScoreboard")) return mainScoreboard;
+        return TideStubs.DEFAULT; // getNewScoreboard: a fresh default stub each time
+    }
+
+    private Object scheduler(Object self, String name, Object[] a) {
+        switch (name) {
+            case "runTask":
+            case "runTaskAsynchronously":
+                return schedule((Plugin) a[0], a[1], 0L, 0L);
+            case "runTaskLater":
+            case "runTaskLaterAsynchronously":
+                return schedule((Plugin) a[0], a[1], (Long) a[2], 0L);
+            case "runTaskTimer":
+            case "runTaskTimerAsynchronously":
+                return schedule((Plugin) a[0], a[1], (Long) a[2], Math.max(1L, (Long) a[3]));
+            case "cancelTask":
+                for (Task t : tasks) {
+                    if (t.id == (Integer) a[0]) t.cancelled = true;
+                }
+                return null;
+            case "cancelTasks":
+                for (Task t : tasks) {
+                    if (t.owner == a[0]) t.cancelled = true;
+                }
+                return null;
+            default: return TideStubs.DEFAULT;
+        }
+    }
+
+    private BukkitTask schedule(Plugin owner, Object task, long delay, long period) {
+        if (!(task instanceof Runnable run)) throw new UnsupportedOperationException("only Runnable tasks are stubbed");
+        Task t = new Task(nextTaskId++, owner, run, tick + Math.max(1L, delay), period);
+        tasks.add(t);
+        return t.handle;
+    }
+
+    // ------------------------------------------------------------
+    // Listeners
+    // ------------------------------------------------------------
+
+    private void register(Listener listener, Plugin owner) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Method m : listener.getClass().getMethods()) {
+            EventHandler eh = m.getAnnotation(EventHandler.class);
+            if (eh == null || m.getParameterCount() != 1 || !Event.class.isAssignableFrom(m.getParameterTypes()[0])) continue;
+            try {
+                MethodHandle h = lookup.unreflect(m).bindTo(listener)
+                        .asType(MethodType.methodType(void.class, Object.class));
+                handlers.add(new Registered(owner, m.getParameterTypes()[0], eh.priority(), eh.ignoreCancelled(), h));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(m.toString(), e);
+            }
+        }
+        // Stable, so handlers of one priority keep their registration order
+        handlers.sort(Comparator.comparingInt(r -> r.priority.ordinal()));
+    }
+
+    private record Registered(Plugin owner, Class<?> type, EventPriority priority, boolean ignoreCancelled,
+                              MethodHandle handle) {}
+
+    // ------------------------------------------------------------
+    // Registries
+    // ------------------------------------------------------------
+
+    /**
+     * A registry that makes up an entry for any key it is asked for. Plain get/put rather than
+     * computeIfAbsent: creating one entry can initialize an API class whose static fields look
+     * up more entries.
+     */
+    private Registry<?> registry(Class<?> type) {
+        Registry<?> r = registries.get(type);
+        if (r != null) return r;
+        Map<NamespacedKey, Object> entries = new ConcurrentHashMap<>();
+        r = TideStubs.stub(Registry.class, (self, name, a) -> switch (name) {
+            case "get", "getOrThrow" -> {
+                NamespacedKey key = (NamespacedKey) a[0];
+                Object e = entries.get(key);
+                if (e == null) {
+                    e = entry(type, key);
+                    Object prev = entries.putIfAbsent(key, e);
+                    if (prev != null) e = prev;
+                }
+                yield e;
+            }
+            case "iterator" -> entries.values().iterator();
+            default -> TideStubs.DEFAULT;
+        });
+        Registry<?> prev = registries.putIfAbsent(type, r);
+        return prev != null ? prev : r;
+    }
+
+    private static Object entry(Class<?> type, NamespacedKey key) {
+        TideStubs.Handler keyed = (self, name, a) -> switch (name) {
+            case "getKey", "getKeyOrThrow" -> key;
+            case "name", "getName" -> key.getKey().toUpperCase(Locale.ROOT);
+            case "getTranslationKey" -> key.toString();
+            default -> TideStubs.DEFAULT;
+        };
+        if (type.isInterface()) return TideStubs.stub(type, keyed);
+        // Abstract registry types (PotionEffectType) cannot be proxied; concrete methods stay real
+        return Mockito.mock(type, Mockito.withSettings().stubOnly().defaultAnswer(inv -> {
+            Method m = inv.getMethod();
+            if (!Modifier.isAbstract(m.getModifiers())) return inv.callRealMethod();
+            Object out = keyed.handle(inv.getMock(), m.getName(), inv.getArguments());
+            return out != TideStubs.DEFAULT ? out : TideStubs.defaultValue(m.getReturnType());
+        }));
+    }
+
+    // ------------------------------------------------------------
+    // Internals
+    // ------------------------------------------------------------
+
+    private static void delete(File f) {
+        File[] children = f.listFiles();
+        if (children != null) {
+            for (File c : children) delete(c);
+        }
+        if (!f.delete()) f.deleteOnExit();
+    }
+
+    private static final class Task {
+        final int id;
+        final Plugin owner;
+        final Runnable run;
+        final long period;
+        final BukkitTask handle;
+        long next;
+        boolean cancelled;
+
+        Task(int id, Plugin owner, Runnable run, long next, long period) {
+            this.id = id;
+            this.owner = owner;
+            this.run = run;
+            this.next = next;
+            this.period = period;
+            this.handle = TideStubs.stub(BukkitTask.class, (self, name, a) -> switch (name) {
+                case "getTaskId" -> this.id;
+                case "getOwner" -> this.owner;
+                case "isSync" -> true;
+                case "isCancelled" -> cancelled;
+                case "cancel" -> {
+                    cancelled = true;
+                    yield null;
+                }
+                default -> TideStubs.DEFAULT;
+            });
+        }
+    }
+}
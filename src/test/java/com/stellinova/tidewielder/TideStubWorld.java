@@ -0,0 +1,127 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A world behind a {@link TideStubs} proxy. Entities are kept in a flat list and
+ * getNearbyEntities is a plain box test over all of them, which is plenty for a few thousand.
+ * The lists are guarded by the world, so region threads may spawn, remove and query at once.
+ *
+ * With an owner set ({@link #guard}), every entity write and area query checks that the
+ * calling thread owns the entity or the query's centre, as Folia does, and records a
+ * violation instead of throwing.
+ */
+final class TideStubWorld {
+
+    final String name;
+    final UUID uid;
+
+    private final World world;
+    private final List<TideStubEntity> entities = new ArrayList<>();
+    private final List<Entity> handles = new ArrayList<>();
+    private final List<Player> players = new CopyOnWriteArrayList<>();
+    private final List<Player> playersView = Collections.unmodifiableList(players);
+    private final List<String> violations = new CopyOnWriteArrayList<>();
+    private volatile TideScheduler owner;
+
+    TideStubWorld(String name) {
+        this.name = name;
+        this.uid = UUID.nameUUIDFromBytes(("tide-stub-world:" + name).getBytes());
+        this.world = TideStubs.stub(World.class, this::handle);
+    }
+
+    World world() {
+        return world;
+    }
+
+    TideStubEntity spawnPlayer(String name, double x, double y, double z) {
+        TideStubEntity e = new TideStubEntity(this, name, true, x, y, z);
+        add(e);
+        return e;
+    }
+
+    TideStubEntity spawnMob(String name, double x, double y, double z) {
+        TideStubEntity e = new TideStubEntity(this, name, false, x, y, z);
+        add(e);
+        return e;
+    }
+
+    /** Checks every later write and area query against {@code owner}. */
+    void guard(TideScheduler owner) {
+        this.owner = owner;
+    }
+
+    /** Writes and queries made off the owning thread, as "what on thread". */
+    List<String> violations() {
+        return violations;
+    }
+
+    /** Records a violation unless the current thread owns {@code e}. */
+    void checkOwner(TideStubEntity e, String what) {
+        TideScheduler o = owner;
+        if (o != null && !o.owns(e.living())) violations.add(what + " of " + e.name + " on " + Thread.currentThread().getName());
+    }
+
+    synchronized void add(TideStubEntity e) {
+        entities.add(e);
+        handles.add(e.living());
+        if (e.player) players.add(e.player());
+    }
+
+    synchronized void remove(TideStubEntity e) {
+        entities.remove(e);
+        handles.remove(e.living());
+        if (e.player) players.remove(e.player());
+    }
+
+    List<TideStubEntity> entities() {
+        return entities;
+    }
+
+    private synchronized List<Entity> near(double cx, double cy, double cz, double rx, double ry, double rz) {
+        TideScheduler o = owner;
+        if (o != null && !o.owns(world, cx, cz)) {
+            violations.add("getNearbyEntities at " + (int) cx + "," + (int) cz + " on " + Thread.currentThread().getName());
+        }
+        List<Entity> out = new ArrayList<>();
+        for (int i = 0; i < entities.size(); i++) {
+            TideStubEntity e = entities.get(i);
+            if (e.valid && e.overlaps(cx, cy, cz, rx, ry, rz)) out.add(handles.get(i));
+        }
+        return out;
+    }
+
+    private Object handle(Object self, String name, Object[] a) {
+        switch (name) {
+            case "getName": return this.name;
+            case "getUID": return uid;
+            case "getPlayers": return playersView;
+            case "getEntities":
+                synchronized (this) {
+                    return new ArrayList<>(handles);
+                }
+            case "getLivingEntities":
+                synchronized (this) {
+                    List<LivingEntity> out = new ArrayList<>();
+                    for (TideStubEntity e : entities) out.add(e.living());
+                    return out;
+                }
+            case "getNearbyEntities":
+                if (a.length == 4 && a[0] instanceof Location l) {
+                    return near(l.getX(), l.getY(), l.getZ(), (Double) a[1], (Double) a[2], (Double) a[3]);
+                }
+                return TideStubs.DEFAULT;
+            default: return TideStubs.DEFAULT;
+        }
+    }
+}
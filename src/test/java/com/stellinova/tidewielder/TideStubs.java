@@ -0,0 +1,133 @@
+package com.stellinova.tidewielder;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dynamic-proxy stand-ins for Bukkit interfaces, so plugin code can run on a plain JVM.
+ *
+ * A stub answers the calls its {@link Handler} knows and falls back to a harmless default for
+ * everything else: zero, false, empty string or collection, or another default stub for an
+ * interface return type. Every call on a stub is counted per method, so a run can tell how
+ * much Bukkit work the plugin asked for.
+ */
+final class TideStubs {
+
+    /** Answers one call, or returns {@link #DEFAULT} to use the default answer. */
+    @FunctionalInterface
+    interface Handler {
+        Object handle(Object self, String name, Object[] args) throws Throwable;
+    }
+
+    static final Object DEFAULT = new Object();
+
+    private static final Handler NONE = (self, name, args) -> DEFAULT;
+    private static final Object[] NO_ARGS = new Object[0];
+
+    // Keyed by Method: a proxy class hands the same Method object to every call, so counting
+    // does not allocate
+    private static final Map<Method, LongAdder> CALLS = new ConcurrentHashMap<>();
+    private static volatile boolean counting = true;
+
+    private TideStubs() {}
+
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(TideStubs.class.getClassLoader(), new Class<?>[]{type}, new Dispatch(type, handler));
+    }
+
+    /** A stub that only ever gives default answers. */
+    static <T> T stub(Class<T> type) {
+        return stub(type, NONE);
+    }
+
+    // ------------------------------------------------------------
+    // Call counting
+    // ------------------------------------------------------------
+
+    static void counting(boolean on) {
+        counting = on;
+    }
+
+    static long calls() {
+        long n = 0;
+        for (LongAdder a : CALLS.values()) n += a.sum();
+        return n;
+    }
+
+    /** Calls per {@code DeclaringType.method}, sorted by name. */
+    static Map<String, Long> callsByMethod() {
+        Map<String, Long> out = new TreeMap<>();
+        CALLS.forEach((m, v) -> {
+            long n = v.sum();
+            if (n > 0) out.merge(m.getDeclaringClass().getSimpleName() + '.' + m.getName(), n, Long::sum);
+        });
+        return out;
+    }
+
+    static void resetCalls() {
+        for (LongAdder a : CALLS.values()) a.reset();
+    }
+
+    // ------------------------------------------------------------
+    // Defaults
+    // ------------------------------------------------------------
+
+    static Object defaultValue(Class<?> type) {
+        if (type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return '\0';
+        if (type == String.class) return "";
+        if (type == Optional.class) return Optional.empty();
+        if (List.class.isAssignableFrom(type) || type == java.util.Collection.class || type == Iterable.class) {
+            return Collections.emptyList();
+        }
+        if (Set.class.isAssignableFrom(type)) return Collections.emptySet();
+        if (Map.class.isAssignableFrom(type)) return Collections.emptyMap();
+        if (type.isArray()) return java.lang.reflect.Array.newInstance(type.getComponentType(), 0);
+        if (type.isInterface()) return stub(type);
+        return null;
+    }
+
+    private static final class Dispatch implements InvocationHandler {
+        private final Class<?> type;
+        private final Handler handler;
+
+        Dispatch(Class<?> type, Handler handler) {
+            this.type = type;
+            this.handler = handler;
+        }
+
+        @Override
+        public Object invoke(Object self, Method m, Object[] args) throws Throwable {
+            String name = m.getName();
+            if (m.getDeclaringClass() == Object.class) {
+                return switch (name) {
+                    case "equals" -> self == args[0];
+                    case "hashCode" -> System.identityHashCode(self);
+                    default -> type.getSimpleName() + "@stub";
+                };
+            }
+            if (counting) CALLS.computeIfAbsent(m, k -> new LongAdder()).increment();
+            Object out = handler.handle(self, name, args == null ? NO_ARGS : args);
+            if (out != DEFAULT) return out;
+            if (m.isDefault()) return InvocationHandler.invokeDefault(self, m, args);
+            return defaultValue(m.getReturnType());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.stellinova.tidewielder;
+
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Target lookups against a plain box test over the stub world, and how often they ask the world. */
+class TideTargetsTest {
+
+    private TideStubWorld world;
+    private TideTargets targets;
+    private TideStubEntity dragon;
+
+    @BeforeEach
+    void setUp() {
+        world = new TideStubWorld("targets");
+        targets = new TideTargets();
+        Random rnd = new Random(7L);
+        for (int i = 0; i < 200; i++) {
+            world.spawnMob("mob" + i, rnd.nextDouble() * 64 - 32, 60 + rnd.nextDouble() * 8, rnd.nextDouble() * 64 - 32);
+        }
+        // Feet in the next cell over, box reaching back into the second cast
+        dragon = world.spawnMob("dragon", 16.5, 64, 0);
+        dragon.width = 16.0;
+        TideStubs.resetCalls();
+    }
+
+    @Test
+    void overlappingCastsAskTheWorldOncePerArea() {
+        Location a = new Location(world.world(), 0, 64, 0);
+        Location b = new Location(world.world(), 4, 64, 3);
+
+        check(a, 6.0);
+        assertEquals(1L, worldQueries(), "the first cast here asks for its own box");
+
+        // Maelstrom-sized overlap: the old per-cell fill made 18-27 calls here
+        assertTrue(check(b, 6.0).contains(dragon.living()));
+        assertEquals(2L, worldQueries(), "the second cast fills every cell of its range at once");
+
+        check(a, 4.0);
+        check(b, 5.0);
+        check(new Location(world.world(), 2, 64, 1), 3.0);
+        assertEquals(2L, worldQueries(), "later casts in the area are served from the cells");
+    }
+
+    @Test
+    void aNewTickStartsCold() {
+        Location a = new Location(world.world(), 0, 64, 0);
+        check(a, 6.0);
+        check(a, 6.0);
+        targets.nextTick();
+        check(a, 6.0);
+        assertEquals(3L, worldQueries());
+    }
+
+    /** near() must find exactly what a box test over every entity finds. */
+    private Set<LivingEntity> check(Location c, double r) {
+        Set<LivingEntity> got = new HashSet<>(targets.near(c, r, r, r));
+        Set<LivingEntity> want = new HashSet<>();
+        for (TideStubEntity e : world.entities()) {
+            if (e.overlaps(c.getX(), c.getY(), c.getZ(), r, r, r)) want.add(e.living());
+        }
+        assertEquals(want, got);
+        return got;
+    }
+
+    private static long worldQueries() {
+        return TideStubs.callsByMethod().getOrDefault("World.getNearbyEntities", 0L);
+    }
+}